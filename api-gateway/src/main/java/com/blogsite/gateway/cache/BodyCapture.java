@@ -0,0 +1,62 @@
+package com.blogsite.gateway.cache;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Copies a response body as it streams past, up to a limit. Past the limit the copy is
+ * dropped and the body keeps streaming uncopied.
+ */
+final class BodyCapture {
+
+    private final int maxBytes;
+    private byte[] bytes;
+    private int length;
+    private boolean overflowed;
+
+    /**
+     * @param expectedLength the Content-Length, or -1 when unknown
+     */
+    BodyCapture(int maxBytes, long expectedLength) {
+        this.maxBytes = maxBytes;
+        this.bytes = new byte[expectedLength > 0 ? (int) Math.min(expectedLength, maxBytes) : Math.min(8192, maxBytes)];
+    }
+
+    /**
+     * @return false once the body has outgrown the limit
+     */
+    boolean append(DataBuffer buffer) {
+        int readable = buffer.readableByteCount();
+        if (overflowed || readable == 0) {
+            return !overflowed;
+        }
+        if (length + readable > maxBytes) {
+            overflowed = true;
+            bytes = null;
+            return false;
+        }
+        if (length + readable > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.min(maxBytes, Math.max(length + readable, bytes.length * 2)));
+        }
+        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), length, readable);
+        length += readable;
+        return true;
+    }
+
+    boolean overflowed() {
+        return overflowed;
+    }
+
+    /**
+     * The backing array; only the first {@link #length()} bytes are body.
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+}
@@ -0,0 +1,113 @@
+package com.blogsite.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A stored 200 response. The body is kept gzip-compressed and handed out as-is to clients that
+ * accept gzip; only the headers that describe the content are kept.
+ */
+final class CachedResponse {
+
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LANGUAGE);
+    // Key, map and header overhead, so a cache of tiny bodies still has a bounded footprint
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final HttpHeaders headers;
+    private final byte[] gzipped;
+    private final int length;
+    private final Set<String> tags;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+    private volatile long storedAt;
+
+    private CachedResponse(HttpHeaders headers, byte[] gzipped, int length, Set<String> tags, long storedAt) {
+        this.headers = headers;
+        this.gzipped = gzipped;
+        this.length = length;
+        this.tags = tags;
+        this.storedAt = storedAt;
+    }
+
+    static CachedResponse of(HttpHeaders responseHeaders, byte[] body, int length, Set<String> tags, long nowMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = responseHeaders.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        return new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), gzip(body, length), length, tags, nowMillis);
+    }
+
+    HttpHeaders headers() {
+        return headers;
+    }
+
+    byte[] gzipped() {
+        return gzipped;
+    }
+
+    byte[] body() {
+        byte[] body = new byte[length];
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            int read = in.readNBytes(body, 0, length);
+            if (read != length) {
+                throw new IllegalStateException("Cached body is truncated");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return body;
+    }
+
+    Set<String> tags() {
+        return tags;
+    }
+
+    int weight() {
+        return gzipped.length + ENTRY_OVERHEAD;
+    }
+
+    long ageMillis(long nowMillis) {
+        return nowMillis - storedAt;
+    }
+
+    /**
+     * Restarts the TTL after the origin confirmed the entry is unchanged.
+     */
+    void markFresh(long nowMillis) {
+        storedAt = nowMillis;
+    }
+
+    /**
+     * Claims the single background refresh of this entry; false if one is already running.
+     */
+    boolean startRevalidation() {
+        return revalidating.compareAndSet(false, true);
+    }
+
+    void endRevalidation() {
+        revalidating.set(false);
+    }
+
+    private static byte[] gzip(byte[] body, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body, 0, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
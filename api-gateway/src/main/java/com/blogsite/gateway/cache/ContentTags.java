@@ -0,0 +1,81 @@
+package com.blogsite.gateway.cache;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which blog-service content a cached response depends on. Tags are derived from the request
+ * path when a response is stored and from change-feed entries when content changes.
+ */
+final class ContentTags {
+
+    /** Every listing that spans categories: /blogs/all, /blogs/search. */
+    static final String ALL = "all";
+    static final String CATEGORY_LIST = "categories";
+
+    private static final String API = "/api/v1.0/blogsite/";
+
+    private ContentTags() {
+    }
+
+    /**
+     * @param path the decoded request path
+     */
+    static Set<String> forPath(String path) {
+        if (!path.startsWith(API)) {
+            return Set.of(ALL);
+        }
+        String[] segments = path.substring(API.length()).split("/");
+        if (segments.length == 1 && segments[0].equals("categories")) {
+            return Set.of(CATEGORY_LIST);
+        }
+        if (segments.length >= 2 && segments[0].equals("blogs")) {
+            if (segments.length == 2 && isNumber(segments[1])) {
+                return Set.of(blog(Long.parseLong(segments[1])));
+            }
+            if (segments.length >= 3 && List.of("info", "get", "histogram").contains(segments[1])) {
+                return Set.of(category(segments[2]));
+            }
+        }
+        return Set.of(ALL);
+    }
+
+    /**
+     * @param blogId null when a category was created
+     */
+    static Set<String> forChange(Long blogId, List<String> categories) {
+        Set<String> tags = new HashSet<>();
+        if (blogId != null) {
+            tags.add(blog(blogId));
+            tags.add(ALL);
+        } else {
+            tags.add(CATEGORY_LIST);
+        }
+        if (categories != null) {
+            categories.forEach(name -> tags.add(category(name)));
+        }
+        return tags;
+    }
+
+    private static String blog(long id) {
+        return "blog:" + id;
+    }
+
+    private static String category(String name) {
+        return "category:" + name;
+    }
+
+    private static boolean isNumber(String segment) {
+        if (segment.isEmpty() || segment.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,272 @@
+package com.blogsite.gateway.cache;
+
+import com.blogsite.gateway.config.RequestCoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight for GETs on the configured public paths: while one request for a key is
+ * upstream, identical requests wait for its buffered response instead of sending their own.
+ * The key covers the path, query and the request headers the response may depend on.
+ *
+ * <p>Waiters send their own request when the response turns out not to be shareable (too
+ * large, sets cookies, or the first client went away) or when it takes longer than the
+ * timeout. An upstream error is shared, so a failing backend still sees one request per key.
+ *
+ * <p>Runs before {@link NettyWriteResponseFilter}, which writes the body through the
+ * response it was handed.
+ */
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final List<String> KEY_HEADERS = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING,
+            HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    // Describe the leader's connection or client rather than the content
+    private static final Set<String> UNSHARED_HEADERS = Set.of("content-length", "transfer-encoding",
+            "connection", "keep-alive", "set-cookie", "date");
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * One upstream exchange. Completes with the response, empty when it cannot be shared, or
+     * with the upstream error.
+     */
+    private static final class Flight {
+
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        void share(SharedResponse response) {
+            result.tryEmitValue(response);
+        }
+
+        void abandon() {
+            result.tryEmitEmpty();
+        }
+
+        void fail(Throwable error) {
+            result.tryEmitError(error);
+        }
+    }
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final List<PathPattern> paths;
+    private final int maxResponseBytes;
+    private final int maxInFlight;
+    private final Duration timeout;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timedOut;
+    private final Counter bypassed;
+    private final DistributionSummary fanout;
+
+    public RequestCoalescingFilter(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.paths = properties.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxResponseBytes = (int) Math.min(Integer.MAX_VALUE - 8, properties.maxResponseSize().toBytes());
+        this.maxInFlight = properties.maxInFlight();
+        this.timeout = properties.timeout();
+        this.leaders = meterRegistry.counter("gateway.coalescing.requests", "outcome", "leader");
+        this.coalesced = meterRegistry.counter("gateway.coalescing.requests", "outcome", "coalesced");
+        this.timedOut = meterRegistry.counter("gateway.coalescing.requests", "outcome", "timed-out");
+        this.bypassed = meterRegistry.counter("gateway.coalescing.requests", "outcome", "bypassed");
+        // Requests answered per upstream exchange; its mean is the coalescing ratio
+        this.fanout = DistributionSummary.builder("gateway.coalescing.fanout").register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in.flight", flights, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !isCoalesced(request)) {
+            return chain.filter(exchange);
+        }
+        String key = key(request);
+        Flight existing = flights.get(key);
+        if (existing != null) {
+            return follow(exchange, chain, existing);
+        }
+        if (flights.size() >= maxInFlight) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+        Flight flight = new Flight();
+        existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            return follow(exchange, chain, existing);
+        }
+        return lead(exchange, chain, key, flight);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private boolean isCoalesced(ServerHttpRequest request) {
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String name : KEY_HEADERS) {
+            key.append('\n');
+            List<String> values = request.getHeaders().get(name);
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, Flight flight) {
+        leaders.increment();
+        SharingResponse response = new SharingResponse(exchange.getResponse(), flight);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doOnError(flight::fail)
+                .doFinally(signal -> {
+                    // Waiters that have not been answered yet send their own requests
+                    flight.abandon();
+                    flights.remove(key, flight);
+                    fanout.record(1 + flight.waiters.get());
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Flight flight) {
+        flight.waiters.incrementAndGet();
+        return flight.result.asMono()
+                .timeout(timeout)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(TimeoutException.class, e -> {
+                    timedOut.increment();
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(shared -> {
+                    if (shared.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    coalesced.increment();
+                    return write(exchange.getResponse(), shared.get());
+                });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        // CORS and other per-client headers were already set on this response by earlier filters
+        shared.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        if (shared.body().length == 0) {
+            return response.setComplete();
+        }
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static boolean isShared(String header) {
+        String name = header.toLowerCase(Locale.ROOT);
+        return !UNSHARED_HEADERS.contains(name) && !name.startsWith("access-control-");
+    }
+
+    /**
+     * Passes the leader's response through to its client while buffering a copy for waiters.
+     */
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Flight flight;
+
+        SharingResponse(ServerHttpResponse delegate, Flight flight) {
+            super(delegate);
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long contentLength = getHeaders().getContentLength();
+            if (status == null || getHeaders().containsKey(HttpHeaders.SET_COOKIE) || contentLength > maxResponseBytes) {
+                flight.abandon();
+                return super.writeWith(body);
+            }
+            BodyCapture capture = new BodyCapture(maxResponseBytes, contentLength);
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (!capture.append(buffer)) {
+                            flight.abandon();
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (!capture.overflowed()) {
+                            byte[] bytes = capture.bytes();
+                            flight.share(new SharedResponse(status, sharedHeaders(), capture.length() == bytes.length
+                                    ? bytes : Arrays.copyOf(bytes, capture.length())));
+                        }
+                    }));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            // No body, e.g. a 304
+            HttpStatusCode status = getStatusCode();
+            if (status != null && !getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                flight.share(new SharedResponse(status, sharedHeaders(), new byte[0]));
+            }
+            return super.setComplete();
+        }
+
+        private HttpHeaders sharedHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (isShared(name)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.blogsite.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Store of cached responses, bounded by the total compressed size, with an index from content
+ * tag to keys for invalidation. Eviction is Caffeine's W-TinyLFU, so a scan of rarely read pages
+ * does not push out the hot lists, and lookups take no lock shared with other event loops.
+ *
+ * <p>Every invalidation advances a generation. A response fetched before an invalidation may
+ * predate the change, so {@link #put} drops it unless the generation it started at is still
+ * current. This is coarse (any change discards all in-flight fills) but writes are rare.
+ */
+public class ResponseCache {
+
+    private final Cache<String, CachedResponse> entries;
+    private final ConcurrentMap<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final long maxBytes;
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                // Runs while Caffeine holds the entry, so it cannot race a put for the same key
+                .evictionListener((String key, CachedResponse response, RemovalCause cause) -> {
+                    unindex(key, response, Set.of());
+                    evictions.increment();
+                })
+                .build();
+    }
+
+    CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a response unless content changed since {@code startedAt} was read from
+     * {@link #generation()}.
+     */
+    boolean put(String key, CachedResponse response, long startedAt) {
+        if (startedAt != generation.get() || response.weight() > maxBytes) {
+            return false;
+        }
+        entries.asMap().compute(key, (k, previous) -> {
+            if (previous != null) {
+                unindex(k, previous, response.tags());
+            }
+            for (String tag : response.tags()) {
+                keysByTag.compute(tag, (t, keys) -> {
+                    Set<String> tagged = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                    tagged.add(k);
+                    return tagged;
+                });
+            }
+            return response;
+        });
+        // An invalidation that began before the entry was indexed may have missed it
+        if (startedAt != generation.get()) {
+            remove(key, response);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Restarts the TTL of {@code response} if it is still the entry for {@code key} and nothing
+     * changed since {@code startedAt}.
+     */
+    void refresh(String key, CachedResponse response, long startedAt, long nowMillis) {
+        if (startedAt == generation.get() && entries.getIfPresent(key) == response) {
+            response.markFresh(nowMillis);
+        }
+    }
+
+    /**
+     * Removes every entry carrying one of {@code tags}; returns how many were removed.
+     */
+    int invalidate(Collection<String> tags) {
+        generation.incrementAndGet();
+        int removed = 0;
+        for (String tag : tags) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : Set.copyOf(keys)) {
+                if (remove(key, null)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    void clear() {
+        generation.incrementAndGet();
+        // Entry by entry, so the tag index never loses a key that a concurrent fill still holds
+        for (String key : Set.copyOf(entries.asMap().keySet())) {
+            remove(key, null);
+        }
+    }
+
+    public int size() {
+        return (int) entries.estimatedSize();
+    }
+
+    public long bytes() {
+        return entries.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes the entry for {@code key} if it is {@code expected}, or whatever it is when
+     * {@code expected} is null.
+     */
+    private boolean remove(String key, CachedResponse expected) {
+        boolean[] removed = new boolean[1];
+        entries.asMap().computeIfPresent(key, (k, current) -> {
+            if (expected != null && current != expected) {
+                return current;
+            }
+            unindex(k, current, Set.of());
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    // Drops key from the tags of response it is not being re-indexed under
+    private void unindex(String key, CachedResponse response, Set<String> keptTags) {
+        for (String tag : response.tags()) {
+            if (keptTags.contains(tag)) {
+                continue;
+            }
+            keysByTag.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+}
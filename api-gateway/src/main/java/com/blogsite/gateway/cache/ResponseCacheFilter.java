@@ -0,0 +1,309 @@
+package com.blogsite.gateway.cache;
+
+import com.blogsite.gateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Answers GETs on the configured public paths from {@link ResponseCache}. Misses go to the
+ * route as usual and a 200 is stored unless the origin marked it {@code no-store} or
+ * {@code private}. Past its TTL an entry is served stale while a loopback request through this
+ * gateway refreshes it, conditionally when the entry has an ETag. When the route fails, an
+ * entry within {@code staleIfError} is served instead of the error.
+ *
+ * <p>Runs after authentication, so /categories still needs a token, and before request
+ * coalescing, so only misses are coalesced.
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RequestCoalescingFilter.ORDER - 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFilter.class);
+    private static final String CACHE_HEADER = "X-Cache";
+    private static final String REVALIDATE_HEADER = "X-Gateway-Revalidate";
+    private static final Duration REVALIDATE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ResponseCache cache;
+    private final List<PathPattern> paths;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final long staleIfErrorMillis;
+    private final int maxEntryBytes;
+    private final WebClient webClient;
+    // Loopback revalidations carry it; a random value per process, so clients cannot forge one
+    private final String revalidateToken = UUID.randomUUID().toString();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter fallbacks;
+    private volatile int port;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties,
+                               WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.paths = properties.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.ttlMillis = properties.ttl().toMillis();
+        this.staleMillis = properties.staleWhileRevalidate().toMillis();
+        this.staleIfErrorMillis = properties.staleIfError().toMillis();
+        this.maxEntryBytes = (int) Math.min(Integer.MAX_VALUE - 8, properties.maxEntrySize().toBytes());
+        this.webClient = webClientBuilder.build();
+        this.hits = meterRegistry.counter("cache.gets", "cache", "gateway-responses", "result", "hit");
+        this.staleHits = meterRegistry.counter("cache.gets", "cache", "gateway-responses", "result", "stale");
+        this.misses = meterRegistry.counter("cache.gets", "cache", "gateway-responses", "result", "miss");
+        this.fallbacks = meterRegistry.counter("cache.gets", "cache", "gateway-responses", "result", "stale-if-error");
+        Gauge.builder("cache.size", cache, ResponseCache::size).tag("cache", "gateway-responses")
+                .register(meterRegistry);
+        Gauge.builder("cache.bytes", cache, ResponseCache::bytes).tag("cache", "gateway-responses")
+                .baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, ResponseCache::evictions).tag("cache", "gateway-responses")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onWebServerInitialized(ReactiveWebServerInitializedEvent event) {
+        // The management server, when on its own port, has a namespace
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !isCached(request)) {
+            return chain.filter(exchange);
+        }
+        String key = key(request);
+        if (revalidateToken.equals(request.getHeaders().getFirst(REVALIDATE_HEADER))) {
+            return revalidate(exchange, chain, key);
+        }
+
+        CachedResponse cached = cache.get(key);
+        if (cached != null && !bypassesCache(request)) {
+            long age = cached.ageMillis(System.currentTimeMillis());
+            if (age < ttlMillis) {
+                hits.increment();
+                return serve(exchange, cached, "HIT");
+            }
+            if (age < ttlMillis + staleMillis) {
+                staleHits.increment();
+                revalidateInBackground(key, cached, request);
+                return serve(exchange, cached, "STALE");
+            }
+        }
+        misses.increment();
+        exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+        ServerHttpRequest forwarded = request.mutate().headers(headers -> headers.remove(REVALIDATE_HEADER)).build();
+        return chain.filter(exchange.mutate()
+                .request(forwarded)
+                .response(new StoringResponse(exchange.getResponse(), key, tags(request), cache.generation()))
+                .build())
+                .onErrorResume(error -> {
+                    // Route down, timed out or refused by its breaker or bulkhead: a stale copy beats an error
+                    if (cached == null || exchange.getResponse().isCommitted()
+                            || cached.ageMillis(System.currentTimeMillis()) >= ttlMillis + staleIfErrorMillis) {
+                        return Mono.error(error);
+                    }
+                    fallbacks.increment();
+                    logger.debug("Serving stale {} after: {}", key, error.toString());
+                    return serve(exchange, cached, "STALE");
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private boolean isCached(ServerHttpRequest request) {
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(ServerHttpRequest request) {
+        URI uri = request.getURI();
+        String query = uri.getRawQuery();
+        return query == null ? uri.getRawPath() : uri.getRawPath() + "?" + query;
+    }
+
+    private static Set<String> tags(ServerHttpRequest request) {
+        return ContentTags.forPath(request.getURI().getPath());
+    }
+
+    private static boolean bypassesCache(ServerHttpRequest request) {
+        String cacheControl = request.getHeaders().getCacheControl();
+        return cacheControl != null && cacheControl.contains("no-cache");
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String state) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(CACHE_HEADER, state);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        String etag = cached.headers().getETag();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (etag != null && (ifNoneMatch.contains(etag) || ifNoneMatch.contains("*"))) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        byte[] body;
+        if (acceptsGzip(exchange.getRequest())) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzipped();
+        } else {
+            body = cached.body();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static boolean acceptsGzip(ServerHttpRequest request) {
+        for (String value : request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sends the request through this gateway again, so it is routed, authenticated and stored
+     * exactly like a miss. At most one refresh per entry runs at a time.
+     */
+    private void revalidateInBackground(String key, CachedResponse cached, ServerHttpRequest request) {
+        int gatewayPort = port;
+        if (gatewayPort <= 0 || !cached.startRevalidation()) {
+            return;
+        }
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        webClient.get()
+                .uri(URI.create("http://127.0.0.1:" + gatewayPort + key))
+                .headers(headers -> {
+                    headers.set(REVALIDATE_HEADER, revalidateToken);
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .exchangeToMono(ClientResponse::releaseBody)
+                .timeout(REVALIDATE_TIMEOUT)
+                .doFinally(signal -> cached.endRevalidation())
+                .subscribe(null, error -> logger.debug("Revalidating {} failed: {}", key, error.toString()));
+    }
+
+    private Mono<Void> revalidate(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        CachedResponse cached = cache.get(key);
+        long generation = cache.generation();
+        String etag = cached == null ? null : cached.headers().getETag();
+        ServerHttpRequest forwarded = exchange.getRequest().mutate().headers(headers -> {
+            headers.remove(REVALIDATE_HEADER);
+            headers.remove(HttpHeaders.IF_NONE_MATCH);
+            if (etag != null) {
+                headers.setIfNoneMatch(etag);
+            }
+        }).build();
+        StoringResponse response = new StoringResponse(exchange.getResponse(), key, tags(forwarded), generation);
+        return chain.filter(exchange.mutate().request(forwarded).response(response).build())
+                .then(Mono.fromRunnable(() -> {
+                    if (cached != null && hasStatus(response, HttpStatus.NOT_MODIFIED)) {
+                        cache.refresh(key, cached, generation, System.currentTimeMillis());
+                    }
+                }));
+    }
+
+    private static boolean hasStatus(ServerHttpResponse response, HttpStatus expected) {
+        HttpStatusCode status = response.getStatusCode();
+        return status != null && status.value() == expected.value();
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * Copies a 200 body as it streams to the client and stores it once complete. Bodies larger
+     * than the entry limit pass through uncopied.
+     */
+    private final class StoringResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Set<String> tags;
+        private final long generation;
+
+        StoringResponse(ServerHttpResponse delegate, String key, Set<String> tags, long generation) {
+            super(delegate);
+            this.key = key;
+            this.tags = tags;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!hasStatus(this, HttpStatus.OK) || !isStorable(getHeaders())) {
+                return super.writeWith(body);
+            }
+            long contentLength = getHeaders().getContentLength();
+            if (contentLength > maxEntryBytes) {
+                return super.writeWith(body);
+            }
+            BodyCapture capture = new BodyCapture(maxEntryBytes, contentLength);
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(capture::append)
+                    .doOnComplete(() -> {
+                        if (!capture.overflowed()) {
+                            HttpHeaders headers = getHeaders();
+                            // Compressing can take a millisecond or two; keep it off the event loop
+                            Schedulers.boundedElastic().schedule(() -> cache.put(key, CachedResponse.of(headers,
+                                    capture.bytes(), capture.length(), tags, System.currentTimeMillis()), generation));
+                        }
+                    }));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.blogsite.gateway.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Polls the change feed ({@code /actuator/changes}) of every blog-service instance and evicts
+ * the cached responses each change affects. Each instance only reports its own writes. When a
+ * feed restarted (new epoch) or dropped changes this reader had not seen yet, the whole cache
+ * is flushed.
+ */
+public class ResponseCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheInvalidator.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    record Change(Long blogId, List<String> categories) {
+    }
+
+    record Page(String epoch, long sequence, boolean complete, List<Change> changes) {
+    }
+
+    private static final class Feed {
+
+        private final URI uri;
+        private String epoch;
+        private long sequence;
+        private boolean failing;
+
+        Feed(URI uri) {
+            this.uri = uri;
+        }
+    }
+
+    private final ResponseCache cache;
+    private final WebClient webClient;
+    private final List<Feed> feeds;
+    private final Duration pollInterval;
+    private volatile Thread worker;
+
+    public ResponseCacheInvalidator(ResponseCache cache, WebClient.Builder webClientBuilder,
+                                    List<URI> changeFeeds, Duration pollInterval) {
+        this.cache = cache;
+        this.webClient = webClientBuilder.build();
+        this.feeds = changeFeeds.stream().map(Feed::new).toList();
+        this.pollInterval = pollInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (worker != null || feeds.isEmpty()) {
+            return;
+        }
+        worker = new Thread(this::run, "response-cache-invalidator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops before the context closes the HTTP client resources the poller uses.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    private void run() {
+        Thread self = Thread.currentThread();
+        while (worker == self) {
+            for (Feed feed : feeds) {
+                try {
+                    poll(feed);
+                    if (feed.failing) {
+                        logger.info("Change feed {} is reachable again", feed.uri);
+                        feed.failing = false;
+                    }
+                } catch (RuntimeException e) {
+                    if (worker != self) {
+                        return;
+                    }
+                    if (!feed.failing) {
+                        logger.warn("Cannot read change feed {}; cached responses may stay stale up to their TTL: {}",
+                                feed.uri, e.toString());
+                        feed.failing = true;
+                    }
+                }
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void poll(Feed feed) {
+        URI uri = UriComponentsBuilder.fromUri(feed.uri).replaceQueryParam("since", feed.sequence).build().toUri();
+        Page page = webClient.get().uri(uri).retrieve().bodyToMono(Page.class).block(REQUEST_TIMEOUT);
+        if (page == null) {
+            return;
+        }
+        if (!page.epoch().equals(feed.epoch) || !page.complete()) {
+            // Also taken on the first poll: anything cached before it may have missed changes
+            cache.clear();
+            logger.debug("Flushed response cache at change feed {} {}@{}", feed.uri, page.epoch(), page.sequence());
+        } else if (!page.changes().isEmpty()) {
+            Set<String> tags = new HashSet<>();
+            for (Change change : page.changes()) {
+                tags.addAll(ContentTags.forChange(change.blogId(), change.categories()));
+            }
+            int removed = cache.invalidate(tags);
+            logger.debug("Evicted {} cached responses for {} changes", removed, page.changes().size());
+        }
+        feed.epoch = page.epoch();
+        feed.sequence = page.sequence();
+    }
+}
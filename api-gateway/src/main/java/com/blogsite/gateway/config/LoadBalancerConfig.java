@@ -0,0 +1,31 @@
+package com.blogsite.gateway.config;
+
+import com.blogsite.gateway.loadbalancer.LoadBalancerFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Client-side load balancing for {@code lb://} routes. Always on, since those routes cannot
+ * be sent anywhere without it.
+ */
+@Configuration
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public LoadBalancerFilter loadBalancerFilter(LoadBalancerProperties properties, GatewayProperties gatewayProperties,
+                                                 MeterRegistry meterRegistry) {
+        LoadBalancerFilter filter = new LoadBalancerFilter(properties, meterRegistry);
+        for (RouteDefinition route : gatewayProperties.getRoutes()) {
+            if ("lb".equals(route.getUri().getScheme()) && !filter.hasService(route.getUri().getHost())) {
+                throw new IllegalStateException("Route " + route.getId() + " goes to " + route.getUri()
+                        + " but gateway.load-balancer.services has no instances of " + route.getUri().getHost());
+            }
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,43 @@
+package com.blogsite.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static instance lists for routes addressed as {@code lb://<service>}. Each request goes to
+ * the less busy of two randomly picked instances. An instance that fails
+ * {@code failureThreshold} calls in a row is ejected for {@code ejection}, doubled on each
+ * repeat up to {@code maxEjection}. A user's requests stay on the instance that handled their
+ * last write for {@code stickyAfterWrite}, which must cover blog-service's
+ * {@code blog.datasource.read-your-writes-window}; zero turns this off.
+ */
+@ConfigurationProperties("gateway.load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue Map<String, List<URI>> services,
+        @DefaultValue("3") int failureThreshold,
+        @DefaultValue("5s") Duration ejection,
+        @DefaultValue("1m") Duration maxEjection,
+        @DefaultValue("10s") Duration stickyAfterWrite,
+        @DefaultValue Hedging hedging
+) {
+
+    /**
+     * Bodiless GETs on {@code routes} are sent to a second instance when the first has not
+     * answered within the route's recent {@code percentile} latency, once {@code minSamples}
+     * calls have been seen. Hedges are capped at {@code budgetPercent} of the route's requests.
+     */
+    public record Hedging(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("blog-public") List<String> routes,
+            @DefaultValue("0.95") double percentile,
+            @DefaultValue("100") int minSamples,
+            @DefaultValue("5ms") Duration minDelay,
+            @DefaultValue("10") int budgetPercent
+    ) {
+    }
+}
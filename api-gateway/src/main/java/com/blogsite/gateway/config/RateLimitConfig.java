@@ -0,0 +1,36 @@
+package com.blogsite.gateway.config;
+
+import com.blogsite.gateway.ratelimit.RateLimitFilter;
+import com.blogsite.gateway.ratelimit.StripedRateLimiter;
+import com.blogsite.gateway.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-client rate limiting; {@code gateway.rate-limit.enabled=false} removes it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.rate-limit.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    private final RateLimitProperties properties;
+
+    public RateLimitConfig(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public StripedRateLimiter stripedRateLimiter() {
+        return new StripedRateLimiter(properties.stripes(), properties.maxBuckets(), properties.sweepInterval());
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(StripedRateLimiter stripedRateLimiter, JwtService jwtService,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(stripedRateLimiter, jwtService, properties, meterRegistry);
+    }
+}
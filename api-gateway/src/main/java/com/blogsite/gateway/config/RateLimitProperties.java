@@ -0,0 +1,42 @@
+package com.blogsite.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-client request limits. A client is the user id of a valid access token, otherwise the
+ * remote address; with {@code forwardedHops} above 0 the address is taken from that many
+ * trusted proxies' X-Forwarded-For entries. The first rule whose paths match applies, else
+ * {@code defaultLimit}.
+ */
+@ConfigurationProperties("gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0") int forwardedHops,
+        @DefaultValue("16") int stripes,
+        @DefaultValue("100000") int maxBuckets,
+        @DefaultValue("30s") Duration sweepInterval,
+        @DefaultValue Limit defaultLimit,
+        @DefaultValue List<Rule> rules
+) {
+
+    /**
+     * {@code limit} requests per {@code period} on average, and up to {@code burst} at once.
+     */
+    public record Limit(
+            @DefaultValue("50") long limit,
+            @DefaultValue("1s") Duration period,
+            @DefaultValue("100") long burst
+    ) {
+    }
+
+    public record Rule(String name, List<String> paths, long limit, Duration period, long burst) {
+
+        public Limit toLimit() {
+            return new Limit(limit, period, burst);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.blogsite.gateway.config;
+
+import com.blogsite.gateway.cache.RequestCoalescingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request coalescing for public reads; {@code gateway.coalescing.enabled=false} removes it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.coalescing.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RequestCoalescingProperties.class)
+public class RequestCoalescingConfig {
+
+    @Bean
+    public RequestCoalescingFilter requestCoalescingFilter(RequestCoalescingProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        if (properties.maxInFlight() <= 0) {
+            throw new IllegalStateException("gateway.coalescing.max-in-flight must be positive");
+        }
+        return new RequestCoalescingFilter(properties, meterRegistry);
+    }
+}
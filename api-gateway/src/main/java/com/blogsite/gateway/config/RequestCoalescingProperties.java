@@ -0,0 +1,23 @@
+package com.blogsite.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Single-flight for identical concurrent GETs. Responses larger than {@code maxResponseSize}
+ * are not shared; with {@code maxInFlight} distinct requests already in flight, new ones are
+ * not coalesced. A waiter gives up after {@code timeout} and sends its own request.
+ */
+@ConfigurationProperties("gateway.coalescing")
+public record RequestCoalescingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("/api/v1.0/blogsite/blogs/**") List<String> paths,
+        @DefaultValue("1MB") DataSize maxResponseSize,
+        @DefaultValue("10000") int maxInFlight,
+        @DefaultValue("5s") Duration timeout
+) {
+}
@@ -0,0 +1,22 @@
+package com.blogsite.gateway.config;
+
+import com.blogsite.gateway.resilience.ResilienceFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-route bulkheads and circuit breakers; {@code gateway.resilience.enabled=false} removes them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.resilience.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public ResilienceFilter resilienceFilter(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new ResilienceFilter(properties, meterRegistry);
+    }
+}
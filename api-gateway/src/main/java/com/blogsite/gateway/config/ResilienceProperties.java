@@ -0,0 +1,56 @@
+package com.blogsite.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bulkhead and circuit breaker settings, by gateway route id. Anything a route leaves unset
+ * comes from {@code defaults}. Response and connect timeouts are route metadata, see
+ * application.yml.
+ */
+@ConfigurationProperties("gateway.resilience")
+public record ResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Policy defaults,
+        @DefaultValue Map<String, RoutePolicy> routes
+) {
+
+    /**
+     * @param maxConcurrent requests the route may have downstream at once
+     * @param windowSize calls the breaker judges the failure rate over
+     * @param minimumCalls calls needed in the window before the breaker may open
+     * @param failureRateThreshold percentage of failed calls (errors, timeouts, 5xx except a shedding 503) that opens it
+     * @param openDuration how long it rejects calls before probing
+     * @param halfOpenProbes calls let through to probe; all must succeed to close it
+     */
+    public record Policy(
+            @DefaultValue("200") int maxConcurrent,
+            @DefaultValue("20") int windowSize,
+            @DefaultValue("10") int minimumCalls,
+            @DefaultValue("50") int failureRateThreshold,
+            @DefaultValue("10s") Duration openDuration,
+            @DefaultValue("3") int halfOpenProbes
+    ) {
+    }
+
+    public record RoutePolicy(Integer maxConcurrent, Integer windowSize, Integer minimumCalls,
+                              Integer failureRateThreshold, Duration openDuration, Integer halfOpenProbes) {
+    }
+
+    public Policy policy(String routeId) {
+        RoutePolicy route = routes.get(routeId);
+        if (route == null) {
+            return defaults;
+        }
+        return new Policy(
+                route.maxConcurrent() != null ? route.maxConcurrent() : defaults.maxConcurrent(),
+                route.windowSize() != null ? route.windowSize() : defaults.windowSize(),
+                route.minimumCalls() != null ? route.minimumCalls() : defaults.minimumCalls(),
+                route.failureRateThreshold() != null ? route.failureRateThreshold() : defaults.failureRateThreshold(),
+                route.openDuration() != null ? route.openDuration() : defaults.openDuration(),
+                route.halfOpenProbes() != null ? route.halfOpenProbes() : defaults.halfOpenProbes());
+    }
+}
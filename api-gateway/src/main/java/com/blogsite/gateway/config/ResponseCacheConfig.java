@@ -0,0 +1,56 @@
+package com.blogsite.gateway.config;
+
+import com.blogsite.gateway.cache.ResponseCache;
+import com.blogsite.gateway.cache.ResponseCacheFilter;
+import com.blogsite.gateway.cache.ResponseCacheInvalidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Response cache for public reads; {@code gateway.response-cache.enabled=false} removes it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gateway.response-cache.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheConfig.class);
+
+    private final ResponseCacheProperties properties;
+
+    public ResponseCacheConfig(ResponseCacheProperties properties) {
+        if (properties.maxEntrySize().compareTo(properties.maxSize()) > 0) {
+            throw new IllegalStateException("gateway.response-cache.max-entry-size (" + properties.maxEntrySize()
+                    + ") must not exceed gateway.response-cache.max-size (" + properties.maxSize() + ")");
+        }
+        if (properties.changeFeeds().isEmpty()) {
+            logger.warn("gateway.response-cache.change-feeds is not set; cached responses are only "
+                    + "dropped after their TTL of {}", properties.ttl());
+        }
+        this.properties = properties;
+    }
+
+    @Bean
+    public ResponseCache responseCache() {
+        return new ResponseCache(properties.maxSize().toBytes());
+    }
+
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(ResponseCache responseCache, WebClient.Builder webClientBuilder,
+                                                   MeterRegistry meterRegistry) {
+        return new ResponseCacheFilter(responseCache, properties, webClientBuilder, meterRegistry);
+    }
+
+    @Bean
+    public ResponseCacheInvalidator responseCacheInvalidator(ResponseCache responseCache,
+                                                             WebClient.Builder webClientBuilder) {
+        return new ResponseCacheInvalidator(responseCache, webClientBuilder,
+                properties.changeFeeds(), properties.pollInterval());
+    }
+}
@@ -0,0 +1,30 @@
+package com.blogsite.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Gateway-side cache for public blog reads. Entries are evicted through blog-service's change
+ * feeds, one per instance, so {@code ttl} only bounds staleness while a feed is unreachable;
+ * without {@code changeFeeds} it bounds it always. For {@code staleWhileRevalidate} after the TTL an
+ * entry is still served while one request refreshes it in the background. For
+ * {@code staleIfError} after the TTL it is the fallback when the route cannot be reached.
+ */
+@ConfigurationProperties("gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue({"/api/v1.0/blogsite/blogs/**", "/api/v1.0/blogsite/categories"}) List<String> paths,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("1MB") DataSize maxEntrySize,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("30s") Duration staleWhileRevalidate,
+        @DefaultValue("1h") Duration staleIfError,
+        @DefaultValue List<URI> changeFeeds,
+        @DefaultValue("250ms") Duration pollInterval
+) {
+}
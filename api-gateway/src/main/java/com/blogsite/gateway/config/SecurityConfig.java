@@ -25,7 +25,7 @@ public class SecurityConfig {
     @Value("${cors.allowed-methods:GET,POST,PUT,DELETE,OPTIONS}")
     private String allowedMethods;
 
-    @Value("${cors.allowed-headers:Authorization,Content-Type,Accept}")
+    @Value("${cors.allowed-headers:Authorization,Content-Type,Accept,If-Match}")
     private String allowedHeaders;
 
     @Value("${cors.allow-credentials:true}")
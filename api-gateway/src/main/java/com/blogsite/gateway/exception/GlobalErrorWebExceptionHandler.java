@@ -1,11 +1,14 @@
 package com.blogsite.gateway.exception;
 
+import com.blogsite.gateway.resilience.RouteUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebExceptionHandler;
 import reactor.core.publisher.Mono;
@@ -26,10 +29,14 @@ public class GlobalErrorWebExceptionHandler implements WebExceptionHandler {
 
     @Override
     public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
-        logger.error("Gateway error: {}", ex.getMessage(), ex);
-
         // Determine status code
         HttpStatus status = determineHttpStatus(ex);
+        if (ex instanceof RouteUnavailableException) {
+            // Expected while a route is shedding load or its breaker is open
+            logger.debug("Gateway rejected request: {}", ex.getMessage());
+        } else {
+            logger.error("Gateway error: {}", ex.getMessage(), ex);
+        }
 
         // Create error response
         Map<String, Object> errorResponse = Map.of(
@@ -42,6 +49,10 @@ public class GlobalErrorWebExceptionHandler implements WebExceptionHandler {
 
         exchange.getResponse().setStatusCode(status);
         exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (ex instanceof RouteUnavailableException unavailable) {
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, (unavailable.getRetryAfter().toMillis() + 999) / 1000)));
+        }
 
         return exchange.getResponse()
                 .writeWith(Mono.just(exchange.getResponse()
@@ -50,6 +61,16 @@ public class GlobalErrorWebExceptionHandler implements WebExceptionHandler {
     }
 
     private HttpStatus determineHttpStatus(Throwable ex) {
+        if (ex instanceof RouteUnavailableException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        // Raised by the gateway itself, e.g. 504 on a response timeout or 404 when no route matches
+        if (ex instanceof ResponseStatusException responseStatus) {
+            HttpStatus resolved = HttpStatus.resolve(responseStatus.getStatusCode().value());
+            if (resolved != null) {
+                return resolved;
+            }
+        }
         String message = ex.getMessage();
         if (message != null) {
             if (message.contains("JWT") || message.contains("token")) {
@@ -63,6 +84,13 @@ public class GlobalErrorWebExceptionHandler implements WebExceptionHandler {
     }
 
     private String getErrorMessage(Throwable ex) {
+        if (ex instanceof RouteUnavailableException) {
+            return "Service temporarily unavailable";
+        }
+        if (ex instanceof ResponseStatusException responseStatus
+                && responseStatus.getStatusCode().value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return "Service did not respond in time";
+        }
         String message = ex.getMessage();
         if (message != null) {
             if (message.contains("Connection refused")) {
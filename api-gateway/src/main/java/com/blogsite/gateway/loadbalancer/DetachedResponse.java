@@ -0,0 +1,45 @@
+package com.blogsite.gateway.loadbalancer;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Collects the status and headers one hedged attempt receives, so they reach the client's
+ * response only if that attempt wins. The body is streamed from the winner's connection.
+ */
+final class DetachedResponse extends AbstractServerHttpResponse {
+
+    DetachedResponse(DataBufferFactory bufferFactory) {
+        super(bufferFactory);
+    }
+
+    @Override
+    public <T> T getNativeResponse() {
+        throw new IllegalStateException("A hedged attempt has no native response");
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return Mono.error(new IllegalStateException("A hedged attempt cannot write a body"));
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return Mono.error(new IllegalStateException("A hedged attempt cannot write a body"));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+}
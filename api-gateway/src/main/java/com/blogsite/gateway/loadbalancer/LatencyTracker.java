@@ -0,0 +1,55 @@
+package com.blogsite.gateway.loadbalancer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A percentile over a route's most recent call latencies. Samples go into a ring; the
+ * percentile is recomputed from a sorted copy every {@code RECOMPUTE_EVERY} samples, so
+ * reading it is a volatile load.
+ */
+final class LatencyTracker {
+
+    private static final int CAPACITY = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final AtomicLongArray samples = new AtomicLongArray(CAPACITY);
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int minSamples;
+    private volatile long quantileNanos = -1;
+
+    LatencyTracker(double percentile, int minSamples) {
+        if (percentile <= 0 || percentile >= 1 || minSamples <= 0) {
+            throw new IllegalArgumentException("Hedging needs a percentile between 0 and 1 and a positive minimum of samples");
+        }
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, CAPACITY);
+    }
+
+    void record(long nanos) {
+        long count = recorded.getAndIncrement();
+        samples.set((int) (count % CAPACITY), nanos);
+        long seen = count + 1;
+        if (seen == minSamples || (seen > minSamples && seen % RECOMPUTE_EVERY == 0)) {
+            recompute((int) Math.min(seen, CAPACITY));
+        }
+    }
+
+    /**
+     * The percentile in nanoseconds, or -1 until {@code minSamples} calls have been recorded.
+     */
+    long quantileNanos() {
+        return quantileNanos;
+    }
+
+    private void recompute(int filled) {
+        long[] sorted = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        quantileNanos = sorted[(int) Math.min(filled - 1, Math.ceil(percentile * filled) - 1)];
+    }
+}
@@ -0,0 +1,321 @@
+package com.blogsite.gateway.loadbalancer;
+
+import com.blogsite.gateway.config.LoadBalancerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.Connection;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends {@code lb://<service>} routes to one of the service's configured instances, see
+ * {@link ServiceInstances}. A call fails the instance's health record when it errors or
+ * answers 502, 503 or 504; a 500 is the application's own answer and any instance would give it.
+ *
+ * <p>On hedged routes a bodiless GET that has no response headers after the route's recent
+ * latency percentile is also sent to a second instance. Each attempt runs on its own copy of
+ * the exchange; the first to receive headers is copied onto the real one and the other is
+ * cancelled or has its connection closed. {@code NettyWriteResponseFilter} then streams the
+ * winner's body. A primary that fails before the delay is hedged in the same way.
+ *
+ * <p>After a user's write, their requests stay on the instance that took it, see
+ * {@link ServiceInstances#pinnedFor}; those are never hedged.
+ */
+public class LoadBalancerFilter implements GlobalFilter, Ordered {
+
+    // Right after the route URI has been merged with the request path
+    public static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+
+    private static final String SCHEME = "lb";
+    // Set by GatewayAuthenticationFilter from the access token
+    private static final String USER_ID_HEADER = "X-User-Id";
+    // Budget is kept in hundredths of a hedge; up to ten hedges may be saved up
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final class Hedge {
+
+        private final LatencyTracker latency;
+        private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+        private final Counter sent;
+        private final Counter won;
+        private final Counter overBudget;
+
+        Hedge(String routeId, LoadBalancerProperties.Hedging hedging, MeterRegistry meterRegistry) {
+            this.latency = new LatencyTracker(hedging.percentile(), hedging.minSamples());
+            this.sent = meterRegistry.counter("gateway.hedge.requests", "route", routeId, "outcome", "sent");
+            this.won = meterRegistry.counter("gateway.hedge.requests", "route", routeId, "outcome", "won");
+            this.overBudget = meterRegistry.counter("gateway.hedge.requests", "route", routeId, "outcome", "over-budget");
+            TimeGauge.builder("gateway.hedge.delay", latency, TimeUnit.NANOSECONDS, LatencyTracker::quantileNanos)
+                    .tag("route", routeId).register(meterRegistry);
+        }
+
+        void onRequest() {
+            budget.getAndUpdate(saved -> Math.min(MAX_BUDGET, saved + budgetPercent));
+        }
+
+        boolean tryAcquire() {
+            long saved;
+            do {
+                saved = budget.get();
+                if (saved < HEDGE_COST) {
+                    overBudget.increment();
+                    return false;
+                }
+            } while (!budget.compareAndSet(saved, saved - HEDGE_COST));
+            return true;
+        }
+
+        /**
+         * @return the delay before hedging, or -1 while too few calls have been seen
+         */
+        long delayNanos() {
+            long quantile = latency.quantileNanos();
+            return quantile < 0 ? -1 : Math.max(quantile, minDelayNanos);
+        }
+    }
+
+    private final Map<String, ServiceInstances> services;
+    // By route id; empty when hedging is off
+    private final Map<String, Hedge> hedges;
+    private final long minDelayNanos;
+    private final int budgetPercent;
+
+    public LoadBalancerFilter(LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        Map<String, ServiceInstances> services = new HashMap<>();
+        properties.services().forEach((name, uris) -> services.put(name, new ServiceInstances(name, uris,
+                properties.failureThreshold(), properties.ejection(), properties.maxEjection(),
+                properties.stickyAfterWrite(), meterRegistry)));
+        this.services = Map.copyOf(services);
+
+        LoadBalancerProperties.Hedging hedging = properties.hedging();
+        if (hedging.budgetPercent() < 0 || hedging.budgetPercent() > 100 || hedging.minDelay().isNegative()) {
+            throw new IllegalArgumentException("Hedging needs a budget between 0 and 100 percent and a non-negative minimum delay");
+        }
+        this.minDelayNanos = hedging.minDelay().toNanos();
+        this.budgetPercent = hedging.budgetPercent();
+        Map<String, Hedge> hedges = new HashMap<>();
+        if (hedging.enabled()) {
+            for (String routeId : hedging.routes()) {
+                hedges.put(routeId, new Hedge(routeId, hedging, meterRegistry));
+            }
+        }
+        this.hedges = Map.copyOf(hedges);
+    }
+
+    /**
+     * Whether {@code lb://<name>} routes have instances to go to.
+     */
+    public boolean hasService(String name) {
+        return services.containsKey(name);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+        ServiceInstances service = services.get(url.getHost());
+        if (service == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "No instances configured for " + url.getHost()));
+        }
+        ServerWebExchangeUtils.addOriginalRequestUrl(exchange, url);
+
+        String userId = exchange.getRequest().getHeaders().getFirst(USER_ID_HEADER);
+        ServiceInstances.Instance pinned = service.pinnedFor(userId);
+        ServiceInstances.Instance first = pinned != null ? pinned : service.choose(null);
+        if (userId != null && isWrite(exchange.getRequest().getMethod())) {
+            // Measured from the response, which blog-service sends after its commit
+            return forward(exchange, chain, first, url, null).doFinally(signal -> service.recordWrite(userId, first));
+        }
+        // A hedge would take a pinned user's read to another instance
+        Hedge hedge = pinned != null ? null : hedgeFor(exchange, service);
+        if (hedge == null) {
+            return forward(exchange, chain, first, url, null);
+        }
+        hedge.onRequest();
+        long delay = hedge.delayNanos();
+        if (delay < 0) {
+            return forward(exchange, chain, first, url, hedge.latency);
+        }
+        return hedged(exchange, chain, service, first, url, hedge, delay);
+    }
+
+    private Hedge hedgeFor(ServerWebExchange exchange, ServiceInstances service) {
+        if (hedges.isEmpty() || service.size() < 2) {
+            return null;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        if (request.getMethod() != HttpMethod.GET || headers.getContentLength() > 0
+                || headers.containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+            return null;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route == null ? null : hedges.get(route.getId());
+    }
+
+    /**
+     * Sends the call to one instance. It completes, and stops counting as outstanding, once
+     * the response headers are in. Latency is recorded for successes and, as a lower bound,
+     * for calls cancelled because a hedge won.
+     */
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain,
+                               ServiceInstances.Instance instance, URI url, LatencyTracker latency) {
+        return Mono.defer(() -> {
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, resolve(url, instance.uri()));
+            instance.begin();
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                instance.end();
+                long now = System.nanoTime();
+                if (signal == SignalType.CANCEL) {
+                    if (latency != null) {
+                        latency.record(now - start);
+                    }
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean failed = signal == SignalType.ON_ERROR
+                        || (status != null && isInstanceFailure(status, exchange.getResponse().getHeaders()));
+                instance.onResult(failed, now);
+                if (latency != null && !failed) {
+                    latency.record(now - start);
+                }
+            });
+        });
+    }
+
+    private Mono<Void> hedged(ServerWebExchange exchange, GatewayFilterChain chain, ServiceInstances service,
+                              ServiceInstances.Instance first, URI url, Hedge hedge, long delayNanos) {
+        AtomicBoolean decided = new AtomicBoolean();
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+        Mono<ServerWebExchange> primary = attempt(exchange, chain, first, url, hedge.latency, decided)
+                .doOnError(primaryError::set);
+        Mono<ServerWebExchange> second = Mono.delay(Duration.ofNanos(delayNanos)).flatMap(tick -> {
+            ServiceInstances.Instance other = decided.get() ? null : service.choose(first);
+            if (other == null || !hedge.tryAcquire()) {
+                return Mono.empty();
+            }
+            hedge.sent.increment();
+            return attempt(exchange, chain, other, url, null, decided).doOnNext(winner -> hedge.won.increment());
+        });
+        return Mono.firstWithValue(primary, second)
+                // Neither attempt produced a response: report why the primary failed
+                .onErrorMap(NoSuchElementException.class, e -> primaryError.get() != null ? primaryError.get() : e)
+                .doOnNext(winner -> adopt(exchange, winner))
+                .then();
+    }
+
+    /**
+     * One hedged attempt on a copy of the exchange; emits the copy if it got its response
+     * headers first, otherwise closes its connection and completes empty.
+     */
+    private Mono<ServerWebExchange> attempt(ServerWebExchange exchange, GatewayFilterChain chain,
+                                            ServiceInstances.Instance instance, URI url, LatencyTracker latency,
+                                            AtomicBoolean decided) {
+        ServerWebExchange attempt = detach(exchange);
+        return forward(attempt, chain, instance, url, latency).then(Mono.fromSupplier(() -> {
+            if (decided.compareAndSet(false, true)) {
+                return attempt;
+            }
+            Connection connection = attempt.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+            if (connection != null) {
+                connection.dispose();
+            }
+            return null;
+        }));
+    }
+
+    private static ServerWebExchange detach(ServerWebExchange exchange) {
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            // Only bodiless requests are hedged, and the client's body can be subscribed to once
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.empty();
+            }
+        };
+        ServerWebExchange copy = exchange.mutate()
+                .request(request)
+                .response(new DetachedResponse(exchange.getResponse().bufferFactory()))
+                .build();
+        Map<String, Object> attributes = new ConcurrentHashMap<>(exchange.getAttributes());
+        return new ServerWebExchangeDecorator(copy) {
+            @Override
+            public Map<String, Object> getAttributes() {
+                return attributes;
+            }
+        };
+    }
+
+    /**
+     * Copies what NettyRoutingFilter put on the winning attempt onto the client's exchange.
+     */
+    private static void adopt(ServerWebExchange exchange, ServerWebExchange winner) {
+        exchange.getAttributes().putAll(winner.getAttributes());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(winner.getResponse().getStatusCode());
+        response.getHeaders().addAll(winner.getResponse().getHeaders());
+    }
+
+    private static URI resolve(URI url, URI instance) {
+        return UriComponentsBuilder.fromUri(url)
+                .scheme(instance.getScheme())
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(ServerWebExchangeUtils.containsEncodedParts(url))
+                .toUri();
+    }
+
+    private static boolean isWrite(HttpMethod method) {
+        return method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+    }
+
+    // A 503 with Retry-After is the instance shedding load on purpose; ejecting it would only
+    // push that load onto the others
+    private static boolean isInstanceFailure(HttpStatusCode status, HttpHeaders headers) {
+        int code = status.value();
+        if (code == 503 && headers.containsKey(HttpHeaders.RETRY_AFTER)) {
+            return false;
+        }
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
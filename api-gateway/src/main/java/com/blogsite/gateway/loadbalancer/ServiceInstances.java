@@ -0,0 +1,214 @@
+package com.blogsite.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The instances of one service, chosen by power of two choices on outstanding requests.
+ *
+ * <p>Health is tracked passively from real calls: after {@code failureThreshold} failures in
+ * a row an instance is ejected, for twice as long on each repeat up to {@code maxEjection}.
+ * Once the ejection ends one more failure ejects it again; a success clears its record. When
+ * every instance is ejected they are all used anyway, rather than failing every request, but
+ * never for a hedge.
+ *
+ * <p>A user's requests go to the instance that handled their last write for
+ * {@code stickyAfterWrite} afterwards, while it is available. blog-service keeps its
+ * read-your-writes pins in memory per instance, so a read sent elsewhere could hit a lagging
+ * replica.
+ */
+final class ServiceInstances {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceInstances.class);
+    private static final int SWEEP_EVERY = 1024;
+
+    final class Instance {
+
+        private final URI uri;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Counter ejectionCount;
+        private volatile long ejectedUntil;
+        private boolean ejected;
+        private int consecutiveFailures;
+        private int ejections;
+
+        private Instance(URI uri, MeterRegistry meterRegistry) {
+            this.uri = uri;
+            this.ejectedUntil = System.nanoTime();
+            String instance = uri.getAuthority();
+            this.ejectionCount = meterRegistry.counter("gateway.lb.ejections", "service", name, "instance", instance);
+            Gauge.builder("gateway.lb.outstanding", outstanding, AtomicInteger::get)
+                    .tags("service", name, "instance", instance).register(meterRegistry);
+            Gauge.builder("gateway.lb.available", this, i -> i.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .tags("service", name, "instance", instance).register(meterRegistry);
+        }
+
+        URI uri() {
+            return uri;
+        }
+
+        void begin() {
+            outstanding.incrementAndGet();
+        }
+
+        void end() {
+            outstanding.decrementAndGet();
+        }
+
+        synchronized void onResult(boolean failed, long nowNanos) {
+            if (!failed) {
+                if (ejected) {
+                    logger.info("{} instance {} is answering again", name, uri);
+                }
+                ejected = false;
+                consecutiveFailures = 0;
+                ejections = 0;
+                return;
+            }
+            if (++consecutiveFailures < failureThreshold || !isAvailable(nowNanos)) {
+                return;
+            }
+            long nanos = ejectionNanos << Math.min(ejections, 20);
+            ejectedUntil = nowNanos + Math.min(nanos, maxEjectionNanos);
+            ejected = true;
+            ejections++;
+            ejectionCount.increment();
+            logger.warn("Ejected {} instance {} for {}ms after {} failures in a row", name, uri,
+                    (ejectedUntil - nowNanos) / 1_000_000, consecutiveFailures);
+        }
+
+        private boolean isAvailable(long nowNanos) {
+            return nowNanos - ejectedUntil >= 0;
+        }
+    }
+
+    private final String name;
+    private final List<Instance> instances;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final long maxEjectionNanos;
+    private final long stickyNanos;
+    private final ConcurrentMap<String, Pin> pins = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+
+    private record Pin(Instance instance, long untilNanos) {
+    }
+
+    ServiceInstances(String name, List<URI> uris, int failureThreshold, Duration ejection, Duration maxEjection,
+                     Duration stickyAfterWrite, MeterRegistry meterRegistry) {
+        if (uris.isEmpty()) {
+            throw new IllegalArgumentException("Service " + name + " has no instances");
+        }
+        if (failureThreshold <= 0 || ejection.isNegative() || maxEjection.compareTo(ejection) < 0) {
+            throw new IllegalArgumentException("Ejection needs a positive failure threshold and "
+                    + "a max ejection no shorter than the first");
+        }
+        if (stickyAfterWrite.isNegative()) {
+            throw new IllegalArgumentException("sticky-after-write must not be negative");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejection.toNanos();
+        this.maxEjectionNanos = maxEjection.toNanos();
+        this.stickyNanos = stickyAfterWrite.toNanos();
+        List<Instance> instances = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            if (!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null
+                    || (uri.getPath() != null && !uri.getPath().isEmpty() && !"/".equals(uri.getPath()))) {
+                throw new IllegalArgumentException("Instances of " + name + " must be http(s)://host[:port], got " + uri);
+            }
+            instances.add(new Instance(uri, meterRegistry));
+        }
+        this.instances = List.copyOf(instances);
+    }
+
+    String name() {
+        return name;
+    }
+
+    int size() {
+        return instances.size();
+    }
+
+    /**
+     * The instance that handled {@code userId}'s last write, while within
+     * {@code stickyAfterWrite} of it and available; otherwise null.
+     */
+    Instance pinnedFor(String userId) {
+        if (userId == null || instances.size() < 2) {
+            return null;
+        }
+        Pin pin = pins.get(userId);
+        if (pin == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (pin.untilNanos() - now <= 0) {
+            pins.remove(userId, pin);
+            return null;
+        }
+        return pin.instance().isAvailable(now) ? pin.instance() : null;
+    }
+
+    /**
+     * Keeps {@code userId} on {@code instance} for {@code stickyAfterWrite} from now.
+     */
+    void recordWrite(String userId, Instance instance) {
+        if (userId == null || stickyNanos == 0 || instances.size() < 2) {
+            return;
+        }
+        long now = System.nanoTime();
+        pins.put(userId, new Pin(instance, now + stickyNanos));
+        // Pins of users who never come back are dropped in passing
+        if (writes.incrementAndGet() % SWEEP_EVERY == 0) {
+            pins.values().removeIf(pin -> pin.untilNanos() - now <= 0);
+        }
+    }
+
+    /**
+     * Picks the instance with fewer outstanding requests out of two available ones.
+     *
+     * @param exclude an instance to avoid, such as the one a hedged request already went to
+     * @return null when {@code exclude} is set and no other instance is available
+     */
+    Instance choose(Instance exclude) {
+        long now = System.nanoTime();
+        List<Instance> candidates = new ArrayList<>(instances.size());
+        for (Instance instance : instances) {
+            if (instance != exclude && instance.isAvailable(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            if (exclude != null) {
+                return null;
+            }
+            candidates.addAll(instances);
+        }
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Instance a = candidates.get(first);
+        Instance b = candidates.get(second);
+        return b.outstanding.get() < a.outstanding.get() ? b : a;
+    }
+}
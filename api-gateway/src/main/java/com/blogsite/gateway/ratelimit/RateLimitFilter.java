@@ -0,0 +1,130 @@
+package com.blogsite.gateway.ratelimit;
+
+import com.blogsite.gateway.config.RateLimitProperties;
+import com.blogsite.gateway.security.GatewayAuthenticationFilter;
+import com.blogsite.gateway.security.JwtService;
+import com.blogsite.gateway.security.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects a client's requests with 429 and Retry-After once it exceeds the limit of the first
+ * matching rule. Runs ahead of authentication so a flood is turned away before any token or
+ * route work; a bearer token is still checked here, through {@link JwtService}'s cache, to
+ * key authenticated clients by user id.
+ */
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = GatewayAuthenticationFilter.ORDER - 1;
+
+    private record Rule(String name, List<PathPattern> paths, StripedRateLimiter.Limit limit,
+                        Counter allowed, Counter rejected) {
+    }
+
+    private final StripedRateLimiter limiter;
+    private final JwtService jwtService;
+    private final RemoteAddressResolver addressResolver;
+    private final List<Rule> rules = new ArrayList<>();
+    private final Rule defaultRule;
+
+    public RateLimitFilter(StripedRateLimiter limiter, JwtService jwtService, RateLimitProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.jwtService = jwtService;
+        this.addressResolver = properties.forwardedHops() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.forwardedHops())
+                : new RemoteAddressResolver() {
+                };
+        for (RateLimitProperties.Rule rule : properties.rules()) {
+            if (rule.name() == null || rule.paths() == null || rule.paths().isEmpty()) {
+                throw new IllegalStateException("gateway.rate-limit.rules entries need a name and paths");
+            }
+            rules.add(rule(rule.name(), rule.paths(), rule.toLimit(), meterRegistry));
+        }
+        this.defaultRule = rule("default", List.of(), properties.defaultLimit(), meterRegistry);
+        Gauge.builder("gateway.ratelimit.buckets", limiter, StripedRateLimiter::size).register(meterRegistry);
+    }
+
+    private static Rule rule(String name, List<String> paths, RateLimitProperties.Limit limit,
+                             MeterRegistry meterRegistry) {
+        return new Rule(name,
+                paths.stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                StripedRateLimiter.Limit.of(limit.limit(), limit.period(), limit.burst()),
+                meterRegistry.counter("gateway.ratelimit.requests", "rule", name, "result", "allowed"),
+                meterRegistry.counter("gateway.ratelimit.requests", "rule", name, "result", "rejected"));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        Rule rule = match(request.getPath().pathWithinApplication());
+        long wait = limiter.tryAcquire(rule.name(), client(exchange), rule.limit(), System.nanoTime());
+        if (wait == 0) {
+            rule.allowed().increment();
+            return chain.filter(exchange);
+        }
+        rule.rejected().increment();
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1))));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Rule match(PathContainer path) {
+        for (Rule rule : rules) {
+            for (PathPattern pattern : rule.paths()) {
+                if (pattern.matches(path)) {
+                    return rule;
+                }
+            }
+        }
+        return defaultRule;
+    }
+
+    private String client(ServerWebExchange exchange) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                VerifiedToken token = jwtService.verify(authorization.substring(7));
+                if (token.isAccessToken()) {
+                    return "user:" + token.userId();
+                }
+            } catch (Exception e) {
+                // Keyed by address like any anonymous client; the auth filter rejects it if needed
+            }
+        }
+        InetSocketAddress address = addressResolver.resolve(exchange);
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
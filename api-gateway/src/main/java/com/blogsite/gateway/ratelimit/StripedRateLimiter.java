@@ -0,0 +1,164 @@
+package com.blogsite.gateway.ratelimit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets held in memory, one per key, spread over independent stripes.
+ *
+ * <p>Each bucket is the GCRA form of a token bucket: instead of a token count and a refill
+ * time it keeps one timestamp, the time at which it will be full again, so taking a token is
+ * a single compare-and-set with no lock. A bucket whose timestamp has passed is full and
+ * indistinguishable from a new one, which is what makes idle buckets safe to drop.
+ *
+ * <p>A stripe that is full even after dropping its idle buckets sends new keys to one overflow
+ * bucket per scope, so a flood of distinct clients is limited as a group instead of growing
+ * the map.
+ */
+public class StripedRateLimiter {
+
+    /**
+     * @param intervalNanos time to earn back one token
+     * @param toleranceNanos how far ahead of now the bucket may be booked; burst times interval
+     */
+    public record Limit(long intervalNanos, long toleranceNanos) {
+
+        public static Limit of(long limit, Duration period, long burst) {
+            if (limit <= 0 || burst <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate limits need a positive limit, period and burst");
+            }
+            long interval = Math.max(1, period.toNanos() / limit);
+            return new Limit(interval, Math.multiplyExact(interval, burst));
+        }
+    }
+
+    private final Stripe[] stripes;
+    private final int maxBucketsPerStripe;
+    private final Duration sweepInterval;
+    private volatile Thread sweeper;
+
+    public StripedRateLimiter(int stripes, int maxBuckets, Duration sweepInterval) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("gateway.rate-limit.stripes must be a power of two");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / stripes);
+        this.sweepInterval = sweepInterval;
+    }
+
+    /**
+     * Takes a token from the client's bucket within {@code scope}, typically a rule name.
+     *
+     * @return 0 when the request may proceed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String scope, String client, Limit limit, long nowNanos) {
+        AtomicLong bucket = bucket(scope, client, nowNanos);
+        while (true) {
+            long fullAt = bucket.get();
+            long booked = Math.max(fullAt, nowNanos) + limit.intervalNanos();
+            long wait = booked - nowNanos - limit.toleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, booked)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = new Thread(this::sweepLoop, "rate-limit-sweeper");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.interrupt();
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Drops every bucket that has refilled completely.
+     */
+    void sweep(long nowNanos) {
+        for (Stripe stripe : stripes) {
+            stripe.sweep(nowNanos);
+        }
+    }
+
+    private AtomicLong bucket(String scope, String client, long nowNanos) {
+        String key = scope + '|' + client;
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.buckets.size() >= maxBucketsPerStripe) {
+            stripe.sweep(nowNanos);
+            if (stripe.buckets.size() >= maxBucketsPerStripe) {
+                // No client id is written with a NUL, so this key cannot belong to one
+                return stripe.buckets.computeIfAbsent(scope + "|\0overflow", k -> new AtomicLong(nowNanos));
+            }
+        }
+        return stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+    }
+
+    private void sweepLoop() {
+        Thread self = Thread.currentThread();
+        while (sweeper == self) {
+            try {
+                Thread.sleep(sweepInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            sweep(System.nanoTime());
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        void sweep(long nowNanos) {
+            if (!sweeping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                // A request racing the removal may book a dropped bucket and get one token extra
+                buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.blogsite.gateway.resilience;
+
+/**
+ * Count-based circuit breaker for one route.
+ *
+ * <p>Closed, it records the outcome of the last {@code windowSize} calls and opens once at
+ * least {@code minimumCalls} have been seen and the failure rate reaches the threshold. Open,
+ * it rejects everything for {@code openMillis}. It then lets {@code halfOpenProbes} calls
+ * through: all of them succeeding closes it, any failure opens it again.
+ *
+ * <p>Outcomes are matched to the state they were admitted in, so a slow call admitted
+ * before the breaker opened cannot close it or count as a probe.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** Returned by {@link #tryAcquire} when the call is rejected. */
+    static final long REJECTED = -1;
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    // Bumped on every transition; a permit is only valid for the epoch that issued it
+    private long epoch;
+    private int calls;
+    private int failures;
+    private int next;
+    private long openUntil;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long openMillis, int halfOpenProbes) {
+        if (windowSize <= 0 || minimumCalls <= 0 || halfOpenProbes <= 0 || openMillis < 0
+                || failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Circuit breakers need a positive window, minimum calls and probes, "
+                    + "and a failure rate threshold between 1 and 100");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * @return a permit to pass to {@link #onResult} or {@link #release}, or {@link #REJECTED}
+     */
+    synchronized long tryAcquire(long nowMillis) {
+        if (state == State.OPEN) {
+            if (nowMillis < openUntil) {
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) {
+                return REJECTED;
+            }
+            probesIssued++;
+        }
+        return epoch;
+    }
+
+    synchronized void onResult(long permit, boolean failed, long nowMillis) {
+        if (permit != epoch) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                open(nowMillis);
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+        if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+            open(nowMillis);
+        }
+    }
+
+    /**
+     * For a call that ended without an outcome, such as a client disconnect: frees its probe.
+     */
+    synchronized void release(long permit) {
+        if (permit == epoch && state == State.HALF_OPEN) {
+            probesIssued--;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * How long until the breaker lets probes through; zero unless open.
+     */
+    synchronized long retryAfterMillis(long nowMillis) {
+        return state == State.OPEN ? Math.max(0, openUntil - nowMillis) : 0;
+    }
+
+    private void open(long nowMillis) {
+        transition(State.OPEN);
+        openUntil = nowMillis + openMillis;
+    }
+
+    private void transition(State target) {
+        state = target;
+        epoch++;
+        calls = 0;
+        failures = 0;
+        next = 0;
+        probesIssued = 0;
+        probesSucceeded = 0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.blogsite.gateway.resilience;
+
+import com.blogsite.gateway.config.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Puts each route behind a {@link Bulkhead} and a {@link CircuitBreaker}. A call fails the
+ * breaker when it errors (connection refused, response timeout) or answers 5xx, except a 503
+ * with {@code Retry-After}: that is a service shedding load on purpose, and opening the breaker
+ * would keep rejecting calls after it has recovered. Rejections
+ * are raised as {@link RouteUnavailableException}; the response cache answers public reads
+ * from a stale entry instead when it has one.
+ *
+ * <p>Runs after {@link NettyWriteResponseFilter}, so a call counts as done once downstream
+ * has sent its status and headers.
+ */
+public class ResilienceFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 2;
+
+    private final class Guard {
+
+        private final String routeId;
+        private final Bulkhead bulkhead;
+        private final CircuitBreaker breaker;
+        private final Counter circuitRejections;
+        private final Counter bulkheadRejections;
+
+        Guard(String routeId, ResilienceProperties.Policy policy) {
+            this.routeId = routeId;
+            this.bulkhead = new Bulkhead(policy.maxConcurrent());
+            this.breaker = new CircuitBreaker(policy.windowSize(), policy.minimumCalls(),
+                    policy.failureRateThreshold(), policy.openDuration().toMillis(), policy.halfOpenProbes());
+            this.circuitRejections = meterRegistry.counter("gateway.route.rejections",
+                    "route", routeId, "reason", "circuit-open");
+            this.bulkheadRejections = meterRegistry.counter("gateway.route.rejections",
+                    "route", routeId, "reason", "bulkhead-full");
+            Gauge.builder("gateway.route.in.flight", bulkhead, Bulkhead::inFlight)
+                    .tag("route", routeId).register(meterRegistry);
+            // 0 closed, 1 half-open, 2 open
+            Gauge.builder("gateway.circuit.state", breaker, b -> switch (b.state()) {
+                case CLOSED -> 0;
+                case HALF_OPEN -> 1;
+                case OPEN -> 2;
+            }).tag("route", routeId).register(meterRegistry);
+        }
+    }
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public ResilienceFilter(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // Configured routes are set up now, so bad settings fail at startup
+        properties.routes().keySet().forEach(this::guard);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        Guard guard = guard(route.getId());
+
+        long now = System.currentTimeMillis();
+        long permit = guard.breaker.tryAcquire(now);
+        if (permit == CircuitBreaker.REJECTED) {
+            guard.circuitRejections.increment();
+            return Mono.error(new RouteUnavailableException(guard.routeId, RouteUnavailableException.Reason.CIRCUIT_OPEN,
+                    Duration.ofMillis(Math.max(1000, guard.breaker.retryAfterMillis(now)))));
+        }
+        if (!guard.bulkhead.tryAcquire()) {
+            guard.breaker.release(permit);
+            guard.bulkheadRejections.increment();
+            return Mono.error(new RouteUnavailableException(guard.routeId, RouteUnavailableException.Reason.BULKHEAD_FULL,
+                    Duration.ofSeconds(1)));
+        }
+        return chain.filter(exchange).doFinally(signal -> {
+            guard.bulkhead.release();
+            if (signal == SignalType.CANCEL) {
+                guard.breaker.release(permit);
+                return;
+            }
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean failed = signal == SignalType.ON_ERROR
+                    || (status != null && isFailure(status, exchange.getResponse().getHeaders()));
+            guard.breaker.onResult(permit, failed, System.currentTimeMillis());
+        });
+    }
+
+    private static boolean isFailure(HttpStatusCode status, HttpHeaders headers) {
+        if (status.value() == 503 && headers.containsKey(HttpHeaders.RETRY_AFTER)) {
+            return false;
+        }
+        return status.is5xxServerError();
+    }
+
+    private Guard guard(String routeId) {
+        return guards.computeIfAbsent(routeId, id -> new Guard(id, properties.policy(id)));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,39 @@
+package com.blogsite.gateway.resilience;
+
+import java.time.Duration;
+
+/**
+ * A request the gateway refused to send downstream because the route's circuit breaker is
+ * open or its bulkhead is full. Rendered as 503 with {@code Retry-After}.
+ */
+public class RouteUnavailableException extends RuntimeException {
+
+    public enum Reason {
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL
+    }
+
+    private final String routeId;
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public RouteUnavailableException(String routeId, Reason reason, Duration retryAfter) {
+        // Thrown on every rejected request while a route is down; the stack trace is never used
+        super("Route " + routeId + " is unavailable: " + reason, null, false, false);
+        this.routeId = routeId;
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
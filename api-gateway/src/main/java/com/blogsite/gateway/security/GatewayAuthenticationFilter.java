@@ -1,6 +1,6 @@
 package com.blogsite.gateway.security;
 
-import io.jsonwebtoken.Claims;
+import com.blogsite.gateway.cache.ResponseCacheFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -18,6 +18,9 @@ import java.util.List;
 @Component
 public class GatewayAuthenticationFilter implements GlobalFilter, Ordered {
 
+    // Ahead of the response cache, which must not answer a request this filter rejects
+    public static final int ORDER = ResponseCacheFilter.ORDER - 1;
+
     private final JwtService jwtService;
 
     public GatewayAuthenticationFilter(JwtService jwtService) {
@@ -50,24 +53,23 @@ public class GatewayAuthenticationFilter implements GlobalFilter, Ordered {
         }
 
         String token = authHeader.substring(7);
-        Claims claims;
+        VerifiedToken claims;
         try {
-            claims = jwtService.parseToken(token);
+            claims = jwtService.verify(token);
         } catch (Exception e) {
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
 
         // Verify it's an access token (not refresh token)
-        String tokenType = claims.get("type", String.class);
-        if (!"access".equals(tokenType)) {
+        if (!claims.isAccessToken()) {
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
 
-        String userId = claims.getSubject();
-        String username = claims.get("username", String.class);
-        String roles = claims.get("roles", String.class);
+        String userId = claims.userId();
+        String username = claims.username();
+        String roles = claims.roles();
 
         // No longer call auth-service for every request. Trust JWT claims.
         // Optionally, check for admin path using roles from JWT.
@@ -100,6 +102,6 @@ public class GatewayAuthenticationFilter implements GlobalFilter, Ordered {
 
     @Override
     public int getOrder() {
-        return -1;
+        return ORDER;
     }
 }
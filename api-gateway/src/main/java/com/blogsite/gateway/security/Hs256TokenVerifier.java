@@ -0,0 +1,167 @@
+package com.blogsite.gateway.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Verifies the compact HS256 tokens auth-service issues and reads just the claims the gateway
+ * forwards. Unlike a full JWT parser it keeps one {@link Mac} per thread and streams the payload
+ * instead of building a claims map. Same rules as before: HS256 only, signature compared in
+ * constant time, {@code exp} enforced and {@code nbf} honoured when present.
+ */
+class Hs256TokenVerifier {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    // Every token from auth-service carries the same header, so it is only parsed once
+    private volatile String acceptedHeader;
+
+    Hs256TokenVerifier(Key signingKey) {
+        this.key = new SecretKeySpec(signingKey.getEncoded(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        // Fails at startup rather than on the first request
+        newMac();
+    }
+
+    VerifiedToken verify(String token, long nowMillis) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        checkHeader(token, headerEnd);
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        Mac mac = macs.get();
+        mac.update(bytes, 0, payloadEnd);
+        byte[] expected = mac.doFinal();
+        byte[] signature;
+        byte[] payload;
+        try {
+            signature = decode(bytes, payloadEnd + 1, bytes.length);
+            payload = decode(bytes, headerEnd + 1, payloadEnd);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!MessageDigest.isEqual(expected, signature)) {
+            throw new InvalidTokenException("Bad signature");
+        }
+        return readClaims(payload, nowMillis);
+    }
+
+    private void checkHeader(String token, int headerEnd) {
+        String accepted = acceptedHeader;
+        if (accepted != null && accepted.length() == headerEnd && token.startsWith(accepted)) {
+            return;
+        }
+        String algorithm = null;
+        try (JsonParser parser = JSON.createParser(BASE64URL.decode(token.substring(0, headerEnd)))) {
+            expect(parser.nextToken() == JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "alg" -> algorithm = parser.getValueAsString();
+                    // Extensions this verifier does not implement, and auth-service never sets
+                    case "crit", "zip", "b64" -> throw new InvalidTokenException("Unsupported header: " + field);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+        if (!"HS256".equals(algorithm)) {
+            throw new InvalidTokenException("Unsupported algorithm: " + algorithm);
+        }
+        acceptedHeader = token.substring(0, headerEnd);
+    }
+
+    private static byte[] decode(byte[] bytes, int from, int to) {
+        ByteBuffer decoded = BASE64URL.decode(ByteBuffer.wrap(bytes, from, to - from));
+        byte[] array = decoded.array();
+        return decoded.remaining() == array.length ? array : Arrays.copyOf(array, decoded.remaining());
+    }
+
+    private static VerifiedToken readClaims(byte[] payload, long nowMillis) {
+        String subject = null;
+        String username = null;
+        String roles = null;
+        String type = null;
+        Long expiresAt = null;
+        Long notBefore = null;
+        try (JsonParser parser = JSON.createParser(payload)) {
+            expect(parser.nextToken() == JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "sub" -> subject = text(parser, value);
+                    case "username" -> username = text(parser, value);
+                    case "roles" -> roles = text(parser, value);
+                    case "type" -> type = text(parser, value);
+                    case "exp" -> expiresAt = seconds(parser, value);
+                    case "nbf" -> notBefore = seconds(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new InvalidTokenException("Malformed claims");
+        }
+        if (subject == null || expiresAt == null) {
+            throw new InvalidTokenException("Token must have sub and exp");
+        }
+        if (notBefore != null && nowMillis < notBefore * 1000) {
+            throw new InvalidTokenException("Token not yet valid");
+        }
+        VerifiedToken token = new VerifiedToken(subject, username, roles, type, expiresAt);
+        if (token.isExpired(nowMillis)) {
+            throw new InvalidTokenException("Token expired", true);
+        }
+        return token;
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(value == JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    private static long seconds(JsonParser parser, JsonToken value) throws IOException {
+        expect(value == JsonToken.VALUE_NUMBER_INT);
+        return parser.getLongValue();
+    }
+
+    private static void expect(boolean condition) {
+        if (!condition) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.blogsite.gateway.security;
+
+public class InvalidTokenException extends RuntimeException {
+
+    private final boolean expired;
+
+    public InvalidTokenException(String message) {
+        this(message, false);
+    }
+
+    public InvalidTokenException(String message, boolean expired) {
+        super(message);
+        this.expired = expired;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+}
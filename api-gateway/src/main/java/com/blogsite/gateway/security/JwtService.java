@@ -1,25 +1,75 @@
 package com.blogsite.gateway.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtService {
 
-    private final Key signingKey;
+    private final Hs256TokenVerifier verifier;
+    // Null when security.jwt.verified-cache-size is 0
+    private final VerifiedTokenCache cache;
+    private final Timer verifyValid;
+    private final Timer verifyExpired;
+    private final Timer verifyInvalid;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    public JwtService(JwtSigningKeyProvider signingKeyProvider) {
-        this.signingKey = signingKeyProvider.getSigningKey();
+    public JwtService(JwtSigningKeyProvider signingKeyProvider, MeterRegistry meterRegistry,
+                      @Value("${security.jwt.verified-cache-size:10000}") int verifiedCacheSize) {
+        this.verifier = new Hs256TokenVerifier(signingKeyProvider.getSigningKey());
+        this.cache = verifiedCacheSize > 0 ? new VerifiedTokenCache(verifiedCacheSize) : null;
+        this.verifyValid = meterRegistry.timer("jwt.verify", "outcome", "valid");
+        this.verifyExpired = meterRegistry.timer("jwt.verify", "outcome", "expired");
+        this.verifyInvalid = meterRegistry.timer("jwt.verify", "outcome", "invalid");
+        this.cacheHits = meterRegistry.counter("cache.gets", "cache", "jwt", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("cache.gets", "cache", "jwt", "result", "miss");
+        if (cache != null) {
+            Gauge.builder("cache.size", cache, VerifiedTokenCache::size).tag("cache", "jwt").register(meterRegistry);
+        }
     }
 
-    public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Checks the token's signature and expiry and returns its claims. A token that verified
+     * before is answered from the cache until it expires; jwt.verify only times real checks.
+     *
+     * @throws InvalidTokenException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedTokenCache.Digest digest = null;
+        if (cache != null) {
+            digest = VerifiedTokenCache.digest(token);
+            VerifiedToken cached = cache.get(digest, now);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+            cacheMisses.increment();
+        }
+
+        long start = System.nanoTime();
+        Timer outcome = verifyInvalid;
+        try {
+            VerifiedToken verified = verifier.verify(token, now);
+            outcome = verifyValid;
+            if (cache != null) {
+                cache.put(digest, verified, now);
+            }
+            return verified;
+        } catch (InvalidTokenException e) {
+            if (e.isExpired()) {
+                outcome = verifyExpired;
+            }
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,17 @@
+package com.blogsite.gateway.security;
+
+/**
+ * The claims the gateway forwards, taken from a token whose signature has been checked.
+ *
+ * @param expiresAt the {@code exp} claim, in epoch seconds
+ */
+public record VerifiedToken(String userId, String username, String roles, String type, long expiresAt) {
+
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAt * 1000;
+    }
+}
@@ -0,0 +1,82 @@
+package com.blogsite.gateway.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tokens that already passed verification, each kept until its {@code exp}. Keys are SHA-256
+ * digests, so raw bearer tokens are not held in memory and a forged token cannot collide with
+ * a cached one. When full, expired entries are dropped first, then arbitrary ones.
+ */
+class VerifiedTokenCache {
+
+    record Digest(long a, long b, long c, long d) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Map<Digest, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final int maxEntries;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    static Digest digest(String token) {
+        ByteBuffer hash = ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * The cached claims for a token, or null when it is not cached or has expired.
+     */
+    VerifiedToken get(Digest digest, long nowMillis) {
+        VerifiedToken verified = tokens.get(digest);
+        if (verified != null && verified.isExpired(nowMillis)) {
+            tokens.remove(digest, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    void put(Digest digest, VerifiedToken verified, long nowMillis) {
+        if (tokens.size() >= maxEntries) {
+            sweep(nowMillis);
+        }
+        tokens.put(digest, verified);
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private void sweep(long nowMillis) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            tokens.values().removeIf(verified -> verified.isExpired(nowMillis));
+            // Still full of live tokens: make room for a tenth rather than evicting on every put
+            Iterator<VerifiedToken> live = tokens.values().iterator();
+            for (int excess = tokens.size() - maxEntries * 9 / 10; excess > 0 && live.hasNext(); excess--) {
+                live.next();
+                live.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -2,31 +2,45 @@ package com.blogsite.auth.security;
 
 import com.blogsite.auth.domain.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtService {
 
     private final Key signingKey;
+    private final Timer issueAccess;
+    private final Timer issueRefresh;
+    private final Timer verifyValid;
+    private final Timer verifyExpired;
+    private final Timer verifyInvalid;
 
-    public JwtService(JwtSigningKeyProvider signingKeyProvider) {
+    public JwtService(JwtSigningKeyProvider signingKeyProvider, MeterRegistry meterRegistry) {
         this.signingKey = signingKeyProvider.getSigningKey();
+        this.issueAccess = meterRegistry.timer("jwt.issue", "type", "access");
+        this.issueRefresh = meterRegistry.timer("jwt.issue", "type", "refresh");
+        this.verifyValid = meterRegistry.timer("jwt.verify", "outcome", "valid");
+        this.verifyExpired = meterRegistry.timer("jwt.verify", "outcome", "expired");
+        this.verifyInvalid = meterRegistry.timer("jwt.verify", "outcome", "invalid");
     }
 
     public String generateAccessToken(Long userId, String username, Set<Role> roles) {
-        return generateToken(userId, username, roles, 15 * 60, "access"); // 15 minutes
+        return issueAccess.record(() -> generateToken(userId, username, roles, 15 * 60, "access")); // 15 minutes
     }
 
     public String generateRefreshToken(Long userId, String username, Set<Role> roles) {
-        return generateToken(userId, username, roles, 7 * 24 * 60 * 60, "refresh"); // 7 days
+        return issueRefresh.record(() -> generateToken(userId, username, roles, 7 * 24 * 60 * 60, "refresh")); // 7 days
     }
 
     private String generateToken(Long userId, String username, Set<Role> roles, long ttlSeconds, String tokenType) {
@@ -52,10 +66,21 @@ public class JwtService {
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        Timer outcome = verifyInvalid;
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            outcome = verifyValid;
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = verifyExpired;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,61 @@
+package com.blogsite.auth.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caps the BCrypt checks running at once. Each check keeps a core busy for its whole run, so a
+ * login burst beyond the core count only slows every login down; the excess waits here briefly
+ * and is then turned away. Defaults to one check per available processor.
+ */
+@Component
+public class PasswordCheckLimiter {
+
+    /**
+     * No check slot freed up within {@code security.bcrypt.max-wait}.
+     */
+    public static class ChecksBusyException extends RuntimeException {
+        ChecksBusyException() {
+            super("Too many password checks are running");
+        }
+    }
+
+    private final Semaphore slots;
+    private final long maxWaitMillis;
+
+    public PasswordCheckLimiter(
+            @Value("${security.bcrypt.max-concurrent:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int maxConcurrent,
+            @Value("${security.bcrypt.max-wait:1s}") Duration maxWait) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("security.bcrypt.max-concurrent must be positive");
+        }
+        this.slots = new Semaphore(maxConcurrent);
+        this.maxWaitMillis = maxWait.toMillis();
+    }
+
+    /**
+     * Runs {@code check} once a slot is free.
+     *
+     * @throws ChecksBusyException when no slot frees up in time
+     */
+    public boolean check(BooleanSupplier check) {
+        try {
+            if (!slots.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new ChecksBusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChecksBusyException();
+        }
+        try {
+            return check.getAsBoolean();
+        } finally {
+            slots.release();
+        }
+    }
+}
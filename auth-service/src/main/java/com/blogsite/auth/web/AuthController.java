@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import com.blogsite.auth.domain.User;
 import com.blogsite.auth.repository.UserRepository;
 import com.blogsite.auth.security.JwtService;
+import com.blogsite.auth.security.PasswordCheckLimiter;
 import com.blogsite.auth.service.UserService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
@@ -33,12 +34,15 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final PasswordCheckLimiter passwordCheckLimiter;
 
-    public AuthController(UserService userService, UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthController(UserService userService, UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+                          PasswordCheckLimiter passwordCheckLimiter) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.passwordCheckLimiter = passwordCheckLimiter;
     }
 
     public record RegisterRequest(
@@ -70,7 +74,7 @@ public class AuthController {
         Optional<User> userOpt = userRepository.findByUsername(request.username());
         String hashToCheck = userOpt.map(User::getPasswordHash).orElse(dummyHash);
 
-        boolean matches = passwordEncoder.matches(request.password(), hashToCheck);
+        boolean matches = passwordCheckLimiter.check(() -> passwordEncoder.matches(request.password(), hashToCheck));
 
         if (!userOpt.isPresent() || !matches) {
             throw new IllegalArgumentException("Invalid credentials");
@@ -1,10 +1,14 @@
 package com.blogsite.auth.web;
 
+import com.blogsite.auth.security.PasswordCheckLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -57,6 +61,25 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    // No database connection freed up within the pool's connection-timeout
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<?> handleDatabaseUnavailable(Exception ex) {
+        logger.warn("Database unavailable: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy. Please try again."));
+    }
+
+    @ExceptionHandler(PasswordCheckLimiter.ChecksBusyException.class)
+    public ResponseEntity<?> handleChecksBusy(PasswordCheckLimiter.ChecksBusyException ex) {
+        logger.warn("Login rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy. Please try again."));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGenericException(Exception ex) {
         logger.error("Internal server error occurred", ex);
@@ -0,0 +1,56 @@
+package com.blogsite.benchmarks;
+
+import com.blogsite.blog.domain.ArticleStats;
+import com.blogsite.blog.domain.CompressedTextConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-article work on every write (stats scan, compression) and every full read (decompression).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleStorageBenchmark {
+
+    @Param({"1200", "5000"})
+    public int words;
+
+    private String article;
+    private byte[] stored;
+
+    @Setup
+    public void setUp() {
+        article = Fixtures.article(words, 7);
+        stored = CompressedTextConverter.encode(article);
+    }
+
+    @Benchmark
+    public ArticleStats scan() {
+        return ArticleStats.scan(article);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return CompressedTextConverter.encode(article);
+    }
+
+    @Benchmark
+    public String decode() {
+        return CompressedTextConverter.decode(stored);
+    }
+}
@@ -0,0 +1,122 @@
+package com.blogsite.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a baseline and exits with status 1 when any benchmark
+ * got slower by more than the threshold (default 10%). A slowdown only counts when the two
+ * scores' error intervals do not overlap, so noisy runs do not fail the build.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.blogsite.benchmarks.BaselineComparison baseline.json current.json [threshold%]
+ * </pre>
+ */
+public final class BaselineComparison {
+
+    record Result(String mode, double score, double error, String unit) {
+
+        boolean timePerOperation() {
+            return !"thrpt".equals(mode);
+        }
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = load(Path.of(args[0]));
+        Map<String, Result> current = load(Path.of(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "benchmark", "baseline", "current", "slower", "");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            String name = entry.getKey();
+            Result now = entry.getValue();
+            Result before = baseline.get(name);
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s %9s  new%n", name, "-", format(now), "-");
+                continue;
+            }
+            if (!before.unit().equals(now.unit()) || !before.mode().equals(now.mode())) {
+                System.out.printf("%-70s %14s %14s %9s  not comparable%n", name, format(before), format(now), "-");
+                continue;
+            }
+            double slower = slowdownPercent(before, now);
+            String verdict = "";
+            if (slower > threshold && outsideNoise(before, now)) {
+                verdict = "REGRESSION";
+                regressions.add(name);
+            } else if (slower < -threshold && outsideNoise(before, now)) {
+                verdict = "improved";
+            }
+            System.out.printf("%-70s %14s %14s %8.1f%%  %s%n", name, format(before), format(now), slower, verdict);
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-70s %14s %14s %9s  missing%n", name, format(baseline.get(name)), "-", "-");
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.printf("%n%d benchmark(s) regressed by more than %.1f%%%n", regressions.size(), threshold);
+            System.exit(1);
+        }
+        System.out.printf("%nNo regressions above %.1f%%%n", threshold);
+    }
+
+    /**
+     * How much longer an operation takes now, in percent; negative when it got faster.
+     */
+    static double slowdownPercent(Result before, Result now) {
+        double ratio = before.timePerOperation() ? now.score() / before.score() : before.score() / now.score();
+        return (ratio - 1) * 100;
+    }
+
+    static boolean outsideNoise(Result before, Result now) {
+        return now.score() - now.error() > before.score() + before.error()
+                || now.score() + now.error() < before.score() - before.error();
+    }
+
+    static Map<String, Result> load(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            JsonNode metric = run.get("primaryMetric");
+            JsonNode error = metric.get("scoreError");
+            results.put(name(run), new Result(
+                    run.get("mode").asText(),
+                    metric.get("score").asDouble(),
+                    error.isNumber() ? error.asDouble() : 0,
+                    metric.get("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private static String name(JsonNode run) {
+        String benchmark = run.get("benchmark").asText().replace("com.blogsite.", "");
+        JsonNode params = run.get("params");
+        if (params == null) {
+            return benchmark;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        params.fields().forEachRemaining(field -> sorted.put(field.getKey(), field.getValue().asText()));
+        return benchmark + sorted;
+    }
+
+    private static String format(Result result) {
+        return String.format("%.3f %s", result.score(), result.unit());
+    }
+}
@@ -0,0 +1,63 @@
+package com.blogsite.benchmarks;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.factory.BlogPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization: full Blog lists (as /blogs/info/{category} returns them) against a
+ * summary page of the same blogs (as /blogs/all returns it). Articles are 1200 words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlogJsonBenchmark {
+
+    @Param({"20", "100"})
+    public int blogs;
+
+    private ObjectMapper objectMapper;
+    private List<Blog> entities;
+    private BlogPageResponse page;
+
+    @Setup
+    public void setUp() {
+        // Same settings Spring Boot applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        entities = Fixtures.blogs(blogs, 1200);
+        page = new BlogPageResponse();
+        page.setBlogs(Fixtures.summaries(entities));
+        page.setSize(blogs);
+    }
+
+    @Benchmark
+    public byte[] blogList() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,65 @@
+package com.blogsite.benchmarks;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.factory.BlogSummaryDto;
+import com.blogsite.blog.factory.BlogSummaryResponse;
+import com.blogsite.blog.factory.BlogSummaryResponseBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The category/duration summary: mapping hydrated entities versus passing through rows the
+ * repository already projected. Entities are built with snippets, as stored since stats backfill.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlogSummaryBuildBenchmark {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Param({"1000", "10000"})
+    public int blogs;
+
+    private List<Blog> entities;
+    private List<BlogSummaryDto> projections;
+
+    @Setup
+    public void setUp() {
+        entities = Fixtures.blogs(blogs, 300);
+        projections = Fixtures.summaries(entities);
+    }
+
+    @Benchmark
+    public BlogSummaryResponse fromEntities() {
+        return new BlogSummaryResponseBuilder()
+                .category("Technology and Programming").from(FROM).to(TO)
+                .blogs(entities)
+                .build();
+    }
+
+    @Benchmark
+    public BlogSummaryResponse fromProjections() {
+        return new BlogSummaryResponseBuilder()
+                .category("Technology and Programming").from(FROM).to(TO)
+                .summaries(projections)
+                .build();
+    }
+}
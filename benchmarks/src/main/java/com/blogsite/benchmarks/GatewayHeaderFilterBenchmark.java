@@ -0,0 +1,57 @@
+package com.blogsite.benchmarks;
+
+import com.blogsite.blog.config.GatewayAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * blog-service turning the gateway's X-User-* headers into a security context, once per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayHeaderFilterBenchmark {
+
+    private GatewayAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private Authentication seen;
+
+    @Setup
+    public void setUp() {
+        filter = new GatewayAuthenticationFilter();
+        request = new MockHttpServletRequest("GET", "/api/v1.0/blogsite/user/getall");
+        request.addHeader("X-User-Id", "42");
+        request.addHeader("X-User-Name", "benchmark-user");
+        request.addHeader("X-User-Roles", "USER,ADMIN");
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> seen = SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public void parseHeaders(Blackhole blackhole) throws Exception {
+        filter.doFilter(request, response, chain);
+        blackhole.consume(seen);
+        SecurityContextHolder.clearContext();
+    }
+}
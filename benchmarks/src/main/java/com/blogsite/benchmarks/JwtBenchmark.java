@@ -0,0 +1,85 @@
+package com.blogsite.benchmarks;
+
+import com.blogsite.auth.domain.Role;
+import com.blogsite.gateway.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work on the request path: the gateway verifies a token on every authenticated call,
+ * auth-service issues one per login and refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private com.blogsite.gateway.security.JwtService gatewayJwt;
+    private com.blogsite.gateway.security.JwtService gatewayJwtUncached;
+    private JwtParserBuilder jjwtParser;
+    private com.blogsite.auth.security.JwtService authJwt;
+    private Set<Role> roles;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        com.blogsite.gateway.security.JwtSigningKeyProvider gatewayKey =
+                new com.blogsite.gateway.security.JwtSigningKeyProvider(Fixtures.MISSING_SECRET_FILE, Fixtures.JWT_SECRET);
+        gatewayJwt = new com.blogsite.gateway.security.JwtService(gatewayKey, new SimpleMeterRegistry(), 10_000);
+        gatewayJwtUncached = new com.blogsite.gateway.security.JwtService(gatewayKey, new SimpleMeterRegistry(), 0);
+        jjwtParser = Jwts.parserBuilder().setSigningKey(gatewayKey.getSigningKey());
+        authJwt = new com.blogsite.auth.security.JwtService(
+                new com.blogsite.auth.security.JwtSigningKeyProvider(Fixtures.MISSING_SECRET_FILE, Fixtures.JWT_SECRET),
+                new SimpleMeterRegistry());
+        roles = EnumSet.of(Role.USER);
+        accessToken = authJwt.generateAccessToken(42L, "benchmark-user", roles);
+    }
+
+    /**
+     * What the gateway does per request: the same token is presented many times while it lives.
+     */
+    @Benchmark
+    public VerifiedToken gatewayParseToken() {
+        return gatewayJwt.verify(accessToken);
+    }
+
+    /**
+     * A token the gateway has not seen yet.
+     */
+    @Benchmark
+    public VerifiedToken gatewayVerifyUncached() {
+        return gatewayJwtUncached.verify(accessToken);
+    }
+
+    /**
+     * The gateway's previous verification, a new jjwt parser per call, for reference.
+     */
+    @Benchmark
+    public Claims jjwtParseToken() {
+        return jjwtParser.build().parseClaimsJws(accessToken).getBody();
+    }
+
+    @Benchmark
+    public String authGenerateAccessToken() {
+        return authJwt.generateAccessToken(42L, "benchmark-user", roles);
+    }
+}
@@ -0,0 +1,46 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.benchmarks.Fixtures;
+import com.blogsite.blog.domain.ArticleStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The checks {@link BlogService#addBlog} and bulk ingest run before touching the database,
+ * dominated by the word count. Lives in the service package because the method is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewBlogValidationBenchmark {
+
+    @Param({"1200", "5000"})
+    public int words;
+
+    private String article;
+
+    @Setup
+    public void setUp() {
+        article = Fixtures.article(words, 11);
+    }
+
+    @Benchmark
+    public ArticleStats validateNewBlog() {
+        return BlogService.validateNewBlog("Benchmark blog post with a long name",
+                "Technology and Programming", article);
+    }
+}
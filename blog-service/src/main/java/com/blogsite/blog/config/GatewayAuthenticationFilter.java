@@ -24,6 +24,12 @@ import java.util.stream.Collectors;
  */
 @Component
 public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+    // Streamed responses such as exports finish on an async dispatch, which is authorized again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -0,0 +1,240 @@
+package com.blogsite.blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * <p>Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the JPA transaction manager fetches its connection before the transaction is marked read-only,
+ * and the proxy delays that fetch until the first statement.
+ *
+ * <p>A replica is used only while its last lag check succeeded within {@code maxLag}; otherwise,
+ * and for users inside their read-your-writes window, reads fall back to the primary. A server
+ * with no replication configured counts as down unless standalone copies are allowed.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    static final long NOT_REPLICATING = -1;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final boolean allowStandalone;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService monitor;
+
+    ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                               Duration maxLag, boolean allowStandalone, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.allowStandalone = allowStandalone;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(HikariDataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(pool -> pool.getConnection(username, password));
+    }
+
+    private interface Connector {
+        Connection connect(HikariDataSource pool) throws SQLException;
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.onWriteTransaction();
+            return connector.connect(primary);
+        }
+        if (readYourWrites.isCurrentUserPinned()) {
+            return connector.connect(primary);
+        }
+        Replica replica = pickReplica();
+        if (replica == null) {
+            return connector.connect(primary);
+        }
+        try {
+            return connector.connect(replica.pool);
+        } catch (SQLFeatureNotSupportedException e) {
+            // The call itself is unsupported (Hikari rejects per-call credentials), not the replica
+            throw e;
+        } catch (SQLException e) {
+            replica.markDown(e.getMessage());
+            return connector.connect(primary);
+        }
+    }
+
+    /**
+     * Publishes each replica's last measured lag; -1 while it is out of rotation.
+     */
+    void bindMetrics(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("blog.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    private Replica pickReplica() {
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replicas start out unused; the first check runs immediately.
+     */
+    synchronized void startMonitoring(Duration interval) {
+        if (monitor != null) {
+            return;
+        }
+        monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::checkReplicas, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                Long lag = replicationLagSeconds(connection);
+                if (lag == null) {
+                    replica.markDown("replication is not running");
+                } else if (lag == NOT_REPLICATING && !allowStandalone) {
+                    replica.markDown("it is not replicating from any source "
+                            + "(set blog.datasource.allow-standalone-replicas for a static copy)");
+                } else if (lag == NOT_REPLICATING) {
+                    replica.markUp(0);
+                } else if (lag > maxLagSeconds) {
+                    replica.markDown("lagging " + lag + "s behind the primary");
+                } else {
+                    replica.markUp(lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        readYourWrites.evictExpired();
+    }
+
+    /**
+     * Seconds behind the source, {@link #NOT_REPLICATING} for a server with no replication
+     * configured at all, or null when replication is configured but stopped.
+     */
+    static Long replicationLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet status;
+            try {
+                status = statement.executeQuery("SHOW REPLICA STATUS");
+            } catch (SQLException e) {
+                // MySQL before 8.0.22 and MariaDB before 10.5.1
+                status = statement.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (ResultSet rows = status) {
+                if (!rows.next()) {
+                    return NOT_REPLICATING;
+                }
+                long lag = lagColumn(rows);
+                return rows.wasNull() ? null : lag;
+            }
+        }
+    }
+
+    private static long lagColumn(ResultSet rows) throws SQLException {
+        try {
+            return rows.getLong("Seconds_Behind_Source");
+        } catch (SQLException e) {
+            return rows.getLong("Seconds_Behind_Master");
+        }
+    }
+
+    // Lets pool-level tooling such as the Hikari metrics binder see the primary pool
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    static final class Replica {
+
+        final HikariDataSource pool;
+        volatile boolean healthy;
+        volatile boolean checked;
+        volatile long lagSeconds = -1;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        void markUp(long lag) {
+            if (!healthy) {
+                logger.info("Replica {} is serving reads ({}s behind)", pool.getPoolName(), lag);
+            }
+            lagSeconds = lag;
+            healthy = true;
+            checked = true;
+        }
+
+        void markDown(String reason) {
+            if (healthy || !checked) {
+                logger.warn("Replica {} taken out of rotation: {}", pool.getPoolName(), reason);
+            }
+            lagSeconds = -1;
+            healthy = false;
+            checked = true;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.blogsite.blog.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which users ran a read-write transaction recently so their reads can stay on the
+ * primary until replicas have had time to catch up. Keyed by the gateway-supplied user id;
+ * anonymous requests are never pinned.
+ *
+ * <p>Pins live in this instance only. With several instances, the gateway sends a user's
+ * requests back to the instance that took their write for
+ * {@code gateway.load-balancer.sticky-after-write}, which must be at least this window.
+ */
+class ReadYourWrites {
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Pins the current user now, and again when the transaction completes so the window is
+     * measured from the commit rather than from the first statement.
+     */
+    void onWriteTransaction() {
+        String userId = currentUserId();
+        if (userId == null) {
+            return;
+        }
+        pin(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    pin(userId);
+                }
+            });
+        }
+    }
+
+    boolean isCurrentUserPinned() {
+        String userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    void evictExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private void pin(String userId) {
+        pinnedUntil.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    private static String currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof String userId ? userId : null;
+    }
+}
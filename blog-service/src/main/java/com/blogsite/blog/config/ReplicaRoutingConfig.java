@@ -0,0 +1,103 @@
+package com.blogsite.blog.config;
+
+import com.blogsite.blog.config.ReplicaRoutingProperties.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with a primary/replica router once
+ * {@code blog.datasource.replicas} lists at least one replica. Without replicas nothing changes.
+ * Every pool takes its settings from {@code spring.datasource.hikari}.
+ */
+@Configuration
+@ConditionalOnProperty("blog.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    private final ReplicaRoutingProperties properties;
+
+    public ReplicaRoutingConfig(ReplicaRoutingProperties properties) {
+        if (properties.readYourWritesWindow().compareTo(properties.maxReplicaLag()) < 0) {
+            throw new IllegalStateException("blog.datasource.read-your-writes-window ("
+                    + properties.readYourWritesWindow() + ") must be at least blog.datasource.max-replica-lag ("
+                    + properties.maxReplicaLag() + ")");
+        }
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties primaryProperties,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        HikariDataSource primary = pool(environment, registry, "primary",
+                primaryProperties.determineUrl(),
+                primaryProperties.determineUsername(),
+                primaryProperties.determinePassword(),
+                primaryProperties.determineDriverClassName());
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            Replica replica = properties.replicas().get(i);
+            HikariDataSource pool = pool(environment, registry, "replica-" + i,
+                    replica.url(),
+                    replica.username() != null ? replica.username() : primaryProperties.determineUsername(),
+                    replica.password() != null ? replica.password() : primaryProperties.determinePassword(),
+                    primaryProperties.determineDriverClassName());
+            pool.setConnectionTimeout(properties.replicaConnectionTimeout().toMillis());
+            replicas.add(pool);
+        }
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas,
+                properties.maxReplicaLag(), properties.allowStandaloneReplicas(),
+                new ReadYourWrites(properties.readYourWritesWindow()));
+        if (registry != null) {
+            routing.bindMetrics(registry);
+        }
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLagMonitor(ApplicationReadyEvent event) {
+        event.getApplicationContext().getBean(ReadWriteRoutingDataSource.class)
+                .startMonitoring(properties.lagCheckInterval());
+    }
+
+    // These pools are not beans, so Boot's Hikari metrics binding does not reach them
+    private static HikariDataSource pool(Environment environment, MeterRegistry registry, String name, String url,
+                                         String username, String password, String driverClassName) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        if (registry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        pool.setPoolName("blog-" + name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setDriverClassName(driverClassName);
+        return pool;
+    }
+}
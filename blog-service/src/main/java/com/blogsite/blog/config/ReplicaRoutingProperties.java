@@ -0,0 +1,28 @@
+package com.blogsite.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work. Replica credentials default to
+ * the primary's; {@code replicaConnectionTimeout} is kept short because a read can always fall
+ * back to the primary. {@code readYourWritesWindow} must cover {@code maxReplicaLag}, otherwise a user
+ * could stop being pinned to the primary while a tolerated replica still lacks their write.
+ * A server that is not replicating from anything is only used with {@code allowStandaloneReplicas},
+ * meant for a static copy in local testing.
+ */
+@ConfigurationProperties("blog.datasource")
+public record ReplicaRoutingProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration maxReplicaLag,
+        @DefaultValue("2s") Duration lagCheckInterval,
+        @DefaultValue("1s") Duration replicaConnectionTimeout,
+        @DefaultValue("10s") Duration readYourWritesWindow,
+        @DefaultValue("false") boolean allowStandaloneReplicas
+) {
+
+    public record Replica(String url, String username, String password) {}
+}
@@ -1,5 +1,6 @@
 package com.blogsite.blog.config;
 
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -27,8 +28,11 @@ public class SecurityConfig {
                         )
                         .addFilterBefore(gatewayAuthenticationFilter, org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class)
                         .authorizeHttpRequests(auth -> auth
+                                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                                 .requestMatchers("/api/v1.0/blogsite/blogs/**").permitAll()
                                 .requestMatchers("/api/v1.0/blogsite/categories").permitAll()
+                                .requestMatchers("/api/v1.0/blogsite/category/rollups/**").hasRole("ADMIN")
+                                .requestMatchers("/api/v1.0/blogsite/export/**").hasRole("ADMIN")
                                 .anyRequest().authenticated()
                         );
                 return http.build();
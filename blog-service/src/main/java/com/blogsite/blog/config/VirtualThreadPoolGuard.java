@@ -0,0 +1,62 @@
+package com.blogsite.blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * With virtual threads every request gets its own thread, so the connection pool is the only
+ * limit on concurrent database work. Refuses to start when the pool would let requests queue
+ * for longer than {@link #MAX_CONNECTION_TIMEOUT_MS}, and reports the effective limit. Checks
+ * nothing when the runtime is older than Java 21, where Boot leaves requests on Tomcat's pool.
+ */
+@Component
+public class VirtualThreadPoolGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPoolGuard.class);
+    static final long MAX_CONNECTION_TIMEOUT_MS = 5000;
+
+    private final DataSource dataSource;
+    private final boolean requested;
+    private final boolean active;
+
+    public VirtualThreadPoolGuard(DataSource dataSource, Environment environment) {
+        this.dataSource = dataSource;
+        this.requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        this.active = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() throws SQLException {
+        if (!active) {
+            if (requested) {
+                logger.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                        + "requests stay on the platform thread pool", Runtime.version().feature());
+            }
+            return;
+        }
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        if (pool.getConnectionTimeout() > MAX_CONNECTION_TIMEOUT_MS) {
+            throw new IllegalStateException("spring.datasource.hikari.connection-timeout is "
+                    + pool.getConnectionTimeout() + " ms; with virtual threads it must be at most "
+                    + MAX_CONNECTION_TIMEOUT_MS + " ms so excess requests fail fast instead of piling up");
+        }
+        if (pool.getMinimumIdle() < pool.getMaximumPoolSize()) {
+            logger.warn("Hikari pool is not fixed-size (minimum-idle {} < maximum-pool-size {}); "
+                    + "bursts will wait on new connections", pool.getMinimumIdle(), pool.getMaximumPoolSize());
+        }
+        logger.info("Virtual threads enabled; database concurrency limited to {} connections, {} ms wait",
+                pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+    }
+}
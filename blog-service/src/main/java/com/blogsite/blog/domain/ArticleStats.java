@@ -0,0 +1,55 @@
+package com.blogsite.blog.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Figures derived from an article body, computed in a single pass without splitting the text.
+ * The SHA-256 stored alongside them is computed separately, for a body being written or compared:
+ * an update whose body hashes the same as the stored one skips loading it.
+ */
+public record ArticleStats(int wordCount, int characterCount, int readingTimeMinutes, String snippet) {
+
+    public static final int SNIPPET_LENGTH = 200;
+    private static final int WORDS_PER_MINUTE = 200;
+
+    public static ArticleStats scan(String article) {
+        if (article == null) {
+            return new ArticleStats(0, 0, 0, null);
+        }
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0, length = article.length(); i < length; i++) {
+            if (Character.isWhitespace(article.charAt(i))) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                words++;
+            }
+        }
+        int readingTime = words == 0 ? 0 : Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+        return new ArticleStats(words, article.length(), readingTime, snippet(article));
+    }
+
+    /**
+     * SHA-256 of the UTF-8 bytes, or null for a missing body.
+     */
+    public static byte[] hash(String article) {
+        if (article == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(article.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String snippet(String article) {
+        if (article != null && article.length() > SNIPPET_LENGTH) {
+            return article.substring(0, SNIPPET_LENGTH) + "...";
+        }
+        return article;
+    }
+}
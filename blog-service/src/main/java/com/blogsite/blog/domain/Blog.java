@@ -1,5 +1,6 @@
 package com.blogsite.blog.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -9,6 +10,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 import java.time.Instant;
 
@@ -16,8 +20,13 @@ import java.time.Instant;
 @Table(name = "blogs")
 public class Blog {
 
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // Pooled ids from a table allocator: IDENTITY would make Hibernate insert rows one at a time
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "blog_ids")
+    @TableGenerator(name = "blog_ids", table = "id_generators", pkColumnValue = "blogs",
+            allocationSize = Blog.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -27,7 +36,8 @@ public class Blog {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    // Stored in BlogContent; only filled in by the paths that need the body
+    @Transient
     private String article;
 
     @Column(nullable = false, length = 100)
@@ -39,6 +49,24 @@ public class Blog {
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
+    // Derived from article at write time so listings never read the body; null until backfilled
+    private Integer wordCount;
+
+    private Integer characterCount;
+
+    private Integer readingTimeMinutes;
+
+    @Column(length = 255)
+    private String snippet;
+
+    // SHA-256 of the article; null for rows written before it was tracked
+    @JsonIgnore
+    @Column(columnDefinition = "BINARY(32)")
+    private byte[] articleHash;
+
+    @Version
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -94,4 +122,60 @@ public class Blog {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getCharacterCount() {
+        return characterCount;
+    }
+
+    public void setCharacterCount(Integer characterCount) {
+        this.characterCount = characterCount;
+    }
+
+    public Integer getReadingTimeMinutes() {
+        return readingTimeMinutes;
+    }
+
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) {
+        this.readingTimeMinutes = readingTimeMinutes;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public byte[] getArticleHash() {
+        return articleHash;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Stores the figures and hash of a body about to be written; {@code stats} must come from
+     * scanning {@code article}.
+     */
+    public void applyArticleStats(ArticleStats stats, String article) {
+        this.wordCount = stats.wordCount();
+        this.characterCount = stats.characterCount();
+        this.readingTimeMinutes = stats.readingTimeMinutes();
+        this.snippet = stats.snippet();
+        this.articleHash = ArticleStats.hash(article);
+    }
 }
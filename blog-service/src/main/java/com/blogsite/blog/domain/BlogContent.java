@@ -0,0 +1,56 @@
+package com.blogsite.blog.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Article body of a blog, kept apart from the metadata in {@link Blog} so that queries over
+ * blogs never read it. Shares the blog's primary key.
+ */
+@Entity
+@Table(name = "blog_content")
+public class BlogContent {
+
+    @Id
+    private Long blogId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "blog_id")
+    private Blog blog;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private String article;
+
+    protected BlogContent() {
+    }
+
+    public BlogContent(Blog blog, String article) {
+        this.blog = blog;
+        this.article = article;
+    }
+
+    public Long getBlogId() {
+        return blogId;
+    }
+
+    public Blog getBlog() {
+        return blog;
+    }
+
+    public String getArticle() {
+        return article;
+    }
+
+    public void setArticle(String article) {
+        this.article = article;
+    }
+}
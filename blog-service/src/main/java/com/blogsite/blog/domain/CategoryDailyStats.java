@@ -0,0 +1,95 @@
+package com.blogsite.blog.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Number of blogs and their total word count for one category on one day.
+ * Rows are written only through the upserts in CategoryDailyStatsRepository.
+ */
+@Entity
+@Table(name = "category_daily_stats")
+@IdClass(CategoryDailyStats.Key.class)
+public class CategoryDailyStats {
+
+    @Id
+    private Long categoryId;
+
+    @Id
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long postCount;
+
+    @Column(nullable = false)
+    private long totalWords;
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(long postCount) {
+        this.postCount = postCount;
+    }
+
+    public long getTotalWords() {
+        return totalWords;
+    }
+
+    public void setTotalWords(long totalWords) {
+        this.totalWords = totalWords;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long categoryId;
+        private LocalDate day;
+
+        public Key() {
+        }
+
+        public Key(Long categoryId, LocalDate day) {
+            this.categoryId = categoryId;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(categoryId, other.categoryId) && Objects.equals(day, other.day);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(categoryId, day);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.blogsite.blog.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores text as raw deflate behind a six byte header: a zero marker byte, a format byte and
+ * the big-endian length of the UTF-8 text. Values without the marker are read as plain UTF-8,
+ * which is how rows written before compression was introduced are stored. Text never starts
+ * with a NUL character, so the two cannot be confused.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private static final byte MARKER = 0;
+    private static final byte FORMAT_DEFLATE = 1;
+    private static final int HEADER_LENGTH = 6;
+    private static final int POOL_LIMIT = 32;
+
+    // zlib state is a few hundred kilobytes of native memory, so instances are reused
+    private static final Queue<Deflater> DEFLATERS = new ConcurrentLinkedQueue<>();
+    private static final Queue<Inflater> INFLATERS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return text == null ? null : encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return stored == null ? null : decode(stored);
+    }
+
+    public static boolean isCompressed(byte[] stored) {
+        return stored.length >= HEADER_LENGTH && stored[0] == MARKER;
+    }
+
+    public static byte[] encode(String text) {
+        byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = DEFLATERS.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            byte[] out = new byte[HEADER_LENGTH + plain.length / 2 + 64];
+            int length = HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            // Incompressible text is cheaper to keep as is, unless it would read back as compressed
+            if (length >= plain.length && (plain.length == 0 || plain[0] != MARKER)) {
+                return plain;
+            }
+            out[0] = MARKER;
+            out[1] = FORMAT_DEFLATE;
+            writeInt(out, 2, plain.length);
+            return Arrays.copyOf(out, length);
+        } finally {
+            release(deflater);
+        }
+    }
+
+    public static String decode(byte[] stored) {
+        if (!isCompressed(stored)) {
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        if (stored[1] != FORMAT_DEFLATE) {
+            throw new IllegalStateException("Unknown text storage format " + stored[1]);
+        }
+        byte[] plain = new byte[readInt(stored, 2)];
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+        try {
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            int length = 0;
+            while (length < plain.length && !inflater.finished()) {
+                int read = inflater.inflate(plain, length, plain.length - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != plain.length) {
+                throw new IllegalStateException("Compressed text is truncated");
+            }
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        } finally {
+            release(inflater);
+        }
+    }
+
+    private static void release(Deflater deflater) {
+        deflater.reset();
+        if (DEFLATERS.size() < POOL_LIMIT) {
+            DEFLATERS.offer(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    private static void release(Inflater inflater) {
+        inflater.reset();
+        if (INFLATERS.size() < POOL_LIMIT) {
+            INFLATERS.offer(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+
+    private static int readInt(byte[] source, int offset) {
+        return (source[offset] & 0xff) << 24
+                | (source[offset + 1] & 0xff) << 16
+                | (source[offset + 2] & 0xff) << 8
+                | (source[offset + 3] & 0xff);
+    }
+}
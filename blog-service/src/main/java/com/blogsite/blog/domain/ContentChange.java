@@ -0,0 +1,106 @@
+package com.blogsite.blog.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * One blog or category touched by a committed write. Every change a transaction made shares
+ * its content version; {@code blogId} is null when only the category list changed.
+ * Rows are written only by ContentVersions.
+ */
+@Entity
+@Table(name = "content_changes")
+@IdClass(ContentChange.Key.class)
+public class ContentChange {
+
+    @Id
+    private Long version;
+
+    @Id
+    private Integer ordinal;
+
+    private Long blogId;
+
+    @Column(nullable = false, length = 100)
+    private String categoryName;
+
+    @Column(length = 100)
+    private String previousCategoryName;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    protected ContentChange() {
+    }
+
+    public ContentChange(long version, int ordinal, Long blogId, String categoryName,
+                         String previousCategoryName, Instant changedAt) {
+        this.version = version;
+        this.ordinal = ordinal;
+        this.blogId = blogId;
+        this.categoryName = categoryName;
+        this.previousCategoryName = previousCategoryName;
+        this.changedAt = changedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Integer getOrdinal() {
+        return ordinal;
+    }
+
+    public Long getBlogId() {
+        return blogId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public String getPreviousCategoryName() {
+        return previousCategoryName;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long version;
+        private Integer ordinal;
+
+        public Key() {
+        }
+
+        public Key(Long version, Integer ordinal) {
+            this.version = version;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(version, other.version) && Objects.equals(ordinal, other.ordinal);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, ordinal);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.blogsite.blog.factory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for blog listings, ordered by (createdAt desc, id desc).
+ * Encoded as URL-safe base64 so clients treat it as a token rather than a value.
+ */
+public record BlogCursor(Instant createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static BlogCursor of(BlogSummaryDto last) {
+        return new BlogCursor(last.getCreatedAt(), last.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BlogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new BlogCursor(Instant.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.blogsite.blog.factory;
+
+import java.util.List;
+
+public class BlogPageResponse {
+
+    private List<BlogSummaryDto> blogs;
+    private String nextCursor;
+    private int size;
+
+    public List<BlogSummaryDto> getBlogs() {
+        return blogs;
+    }
+
+    public void setBlogs(List<BlogSummaryDto> blogs) {
+        this.blogs = blogs;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
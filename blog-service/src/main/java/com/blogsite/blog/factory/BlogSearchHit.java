@@ -0,0 +1,86 @@
+package com.blogsite.blog.factory;
+
+import java.time.Instant;
+import java.util.List;
+
+public class BlogSearchHit {
+
+    /**
+     * Character range [start, end) of a query match inside {@code snippet}.
+     */
+    public record Highlight(int start, int end) {
+    }
+
+    private Long id;
+    private String blogName;
+    private String category;
+    private String authorName;
+    private Instant createdAt;
+    private double score;
+    private String snippet;
+    private List<Highlight> highlights;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getBlogName() {
+        return blogName;
+    }
+
+    public void setBlogName(String blogName) {
+        this.blogName = blogName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public List<Highlight> getHighlights() {
+        return highlights;
+    }
+
+    public void setHighlights(List<Highlight> highlights) {
+        this.highlights = highlights;
+    }
+}
@@ -10,6 +10,23 @@ public class BlogSummaryDto {
     private String authorName;
     private Instant createdAt;
     private String articleSnippet;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
+
+    public BlogSummaryDto() {
+    }
+
+    public BlogSummaryDto(Long id, String blogName, String category, String authorName, Instant createdAt,
+                          String articleSnippet, Integer wordCount, Integer readingTimeMinutes) {
+        this.id = id;
+        this.blogName = blogName;
+        this.category = category;
+        this.authorName = authorName;
+        this.createdAt = createdAt;
+        this.articleSnippet = articleSnippet;
+        this.wordCount = wordCount;
+        this.readingTimeMinutes = readingTimeMinutes;
+    }
 
     public Long getId() {
         return id;
@@ -58,4 +75,20 @@ public class BlogSummaryDto {
     public void setArticleSnippet(String articleSnippet) {
         this.articleSnippet = articleSnippet;
     }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getReadingTimeMinutes() {
+        return readingTimeMinutes;
+    }
+
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) {
+        this.readingTimeMinutes = readingTimeMinutes;
+    }
 }
@@ -1,5 +1,6 @@
 package com.blogsite.blog.factory;
 
+import com.blogsite.blog.domain.ArticleStats;
 import com.blogsite.blog.domain.Blog;
 
 import java.time.Instant;
@@ -12,6 +13,7 @@ public class BlogSummaryResponseBuilder {
     private Instant from;
     private Instant to;
     private List<Blog> blogs;
+    private List<BlogSummaryDto> summaries;
 
     public BlogSummaryResponseBuilder category(String category) {
         this.category = category;
@@ -33,11 +35,24 @@ public class BlogSummaryResponseBuilder {
         return this;
     }
 
+    /**
+     * Uses rows already projected by the repository instead of mapping entities.
+     */
+    public BlogSummaryResponseBuilder summaries(List<BlogSummaryDto> summaries) {
+        this.summaries = summaries;
+        return this;
+    }
+
     public BlogSummaryResponse build() {
         BlogSummaryResponse response = new BlogSummaryResponse();
         response.setCategory(category);
         response.setFrom(from);
         response.setTo(to);
+        if (summaries != null) {
+            response.setTotalCount(summaries.size());
+            response.setBlogs(summaries);
+            return response;
+        }
         response.setTotalCount(blogs == null ? 0 : blogs.size());
         if (blogs != null) {
             response.setBlogs(blogs.stream().map(this::mapToDto).collect(Collectors.toList()));
@@ -52,12 +67,9 @@ public class BlogSummaryResponseBuilder {
         dto.setCategory(blog.getCategory().getName());
         dto.setAuthorName(blog.getAuthorName());
         dto.setCreatedAt(blog.getCreatedAt());
-        String article = blog.getArticle();
-        if (article != null && article.length() > 200) {
-            dto.setArticleSnippet(article.substring(0, 200) + "...");
-        } else {
-            dto.setArticleSnippet(article);
-        }
+        dto.setArticleSnippet(blog.getSnippet() != null ? blog.getSnippet() : ArticleStats.snippet(blog.getArticle()));
+        dto.setWordCount(blog.getWordCount());
+        dto.setReadingTimeMinutes(blog.getReadingTimeMinutes());
         return dto;
     }
 }
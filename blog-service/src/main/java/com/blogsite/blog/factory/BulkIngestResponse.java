@@ -0,0 +1,64 @@
+package com.blogsite.blog.factory;
+
+import java.util.List;
+
+public class BulkIngestResponse {
+
+    /**
+     * A blog that was stored; {@code index} is its position in the request.
+     */
+    public record Inserted(int index, long id) {
+    }
+
+    /**
+     * A blog that was rejected or could not be stored, with the reason.
+     */
+    public record Failed(int index, String blogName, String error) {
+    }
+
+    private int received;
+    private int insertedCount;
+    private int failedCount;
+    private List<Inserted> inserted;
+    private List<Failed> failed;
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public void setInsertedCount(int insertedCount) {
+        this.insertedCount = insertedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public List<Inserted> getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(List<Inserted> inserted) {
+        this.inserted = inserted;
+    }
+
+    public List<Failed> getFailed() {
+        return failed;
+    }
+
+    public void setFailed(List<Failed> failed) {
+        this.failed = failed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.blogsite.blog.factory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CategoryHistogramResponse {
+
+    /**
+     * Posts and words for the bucket beginning on {@code start}. Only days inside the
+     * requested range are counted, so the first and last buckets may be partial.
+     */
+    public record Bucket(LocalDate start, long posts, long words) {
+    }
+
+    private String category;
+    private String granularity;
+    private LocalDate from;
+    private LocalDate to;
+    private long totalPosts;
+    private long totalWords;
+    private List<Bucket> buckets;
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getTotalPosts() {
+        return totalPosts;
+    }
+
+    public void setTotalPosts(long totalPosts) {
+        this.totalPosts = totalPosts;
+    }
+
+    public long getTotalWords() {
+        return totalWords;
+    }
+
+    public void setTotalWords(long totalWords) {
+        this.totalWords = totalWords;
+    }
+
+    public List<Bucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<Bucket> buckets) {
+        this.buckets = buckets;
+    }
+}
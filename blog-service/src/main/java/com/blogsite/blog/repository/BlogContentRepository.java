@@ -0,0 +1,99 @@
+package com.blogsite.blog.repository;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.BlogContent;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface BlogContentRepository extends JpaRepository<BlogContent, Long> {
+
+    /**
+     * Rows between persistence context clears while consuming {@link #streamForExport}.
+     */
+    int EXPORT_BATCH_SIZE = 500;
+
+    /**
+     * Fills in {@link Blog#getArticle()} for every blog with a single query.
+     */
+    default <T extends Collection<Blog>> T attachArticles(T blogs) {
+        if (blogs.isEmpty()) {
+            return blogs;
+        }
+        Map<Long, String> articles = findAllById(blogs.stream().map(Blog::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(BlogContent::getBlogId, BlogContent::getArticle));
+        for (Blog blog : blogs) {
+            blog.setArticle(articles.get(blog.getId()));
+        }
+        return blogs;
+    }
+
+    default Blog attachArticle(Blog blog) {
+        findById(blog.getId()).map(BlogContent::getArticle).ifPresent(blog::setArticle);
+        return blog;
+    }
+
+    // Runs immediately, so the body is gone before the blog row is deleted at flush
+    @Modifying
+    @Query("delete from BlogContent c where c.blogId = :blogId")
+    int deleteByBlogId(@Param("blogId") Long blogId);
+
+    /**
+     * Forward-only cursor over blogs and their bodies for bulk export; every filter is optional.
+     * Must be consumed inside a transaction and closed by the caller. A fetch size of
+     * {@code Integer.MIN_VALUE} makes Connector/J stream rows one at a time, so no other
+     * statement can run on the connection until the stream is closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select bc from BlogContent bc join fetch bc.blog b join fetch b.category c "
+            + "where (:categoryName is null or c.name = :categoryName) "
+            + "and (:from is null or b.createdAt >= :from) "
+            + "and (:to is null or b.createdAt <= :to) "
+            + "order by bc.blogId")
+    Stream<BlogContent> streamForExport(
+            @Param("categoryName") String categoryName,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    /**
+     * Raw stored bytes of an article, bypassing the converter on {@link BlogContent#getArticle()}.
+     */
+    interface StoredArticle {
+        Long getId();
+
+        byte[] getArticle();
+    }
+
+    // Compressed values start with a zero byte, see CompressedTextConverter
+    @Query(value = "SELECT blog_id AS id, article FROM blog_content WHERE blog_id > :afterId "
+            + "AND LEFT(article, 1) <> X'00' ORDER BY blog_id LIMIT :limit", nativeQuery = true)
+    List<StoredArticle> findUncompressedArticles(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Replaces a stored article only if it still holds {@code expected}, so a concurrent edit is never lost.
+     */
+    @Modifying
+    @Query(value = "UPDATE blog_content SET article = :article WHERE blog_id = :id AND article = :expected",
+            nativeQuery = true)
+    int replaceStoredArticle(@Param("id") Long id, @Param("article") byte[] article, @Param("expected") byte[] expected);
+}
@@ -1,7 +1,11 @@
 package com.blogsite.blog.repository;
 
 import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.factory.BlogSummaryDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,12 +15,32 @@ import java.util.Optional;
 
 public interface BlogRepository extends JpaRepository<Blog, Long> {
 
+    String SUMMARY_SELECT = "select new com.blogsite.blog.factory.BlogSummaryDto(b.id, b.blogName, c.name, "
+            + "b.authorName, b.createdAt, b.snippet, b.wordCount, b.readingTimeMinutes) ";
+
+    // Category is EAGER; every query returning blogs fetches it in the same statement
+    // instead of letting Hibernate issue a select per category afterwards
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Blog> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Blog> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     List<Blog> findByAuthorId(Long authorId);
 
+    @EntityGraph(attributePaths = "category")
     Optional<Blog> findByAuthorIdAndBlogName(Long authorId, String blogName);
 
+    @EntityGraph(attributePaths = "category")
     Optional<Blog> findByBlogName(String blogName);
 
+    @Query("select b.version from Blog b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
     void deleteByAuthorIdAndBlogName(Long authorId, String blogName);
 
     @Query("select b from Blog b join fetch b.category c where c.name = :categoryName")
@@ -28,4 +52,57 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
             @Param("from") Instant from,
             @Param("to") Instant to
     );
+
+    @Query(SUMMARY_SELECT
+            + "from Blog b join b.category c "
+            + "where c.name = :categoryName and b.createdAt between :from and :to")
+    List<BlogSummaryDto> findSummariesByCategoryNameAndCreatedAtBetween(
+            @Param("categoryName") String categoryName,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    @Query("select b from Blog b join fetch b.category where b.wordCount is null and b.id > :afterId order by b.id")
+    List<Blog> findMissingArticleStats(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Fills in the stats of a row that still has none. A bulk update, so the version is left
+     * alone and concurrent edits do not conflict; a row an edit filled in meanwhile is skipped.
+     */
+    @Modifying
+    @Query("update Blog b set b.wordCount = :wordCount, b.characterCount = :characterCount, "
+            + "b.readingTimeMinutes = :readingTimeMinutes, b.snippet = :snippet, b.articleHash = :articleHash "
+            + "where b.id = :id and b.wordCount is null")
+    int fillMissingArticleStats(@Param("id") Long id, @Param("wordCount") int wordCount,
+                                @Param("characterCount") int characterCount,
+                                @Param("readingTimeMinutes") int readingTimeMinutes,
+                                @Param("snippet") String snippet, @Param("articleHash") byte[] articleHash);
+
+    @Query(SUMMARY_SELECT + "from Blog b join b.category c order by b.createdAt desc, b.id desc")
+    List<BlogSummaryDto> findSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT
+            + "from Blog b join b.category c "
+            + "where b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id) "
+            + "order by b.createdAt desc, b.id desc")
+    List<BlogSummaryDto> findSummaryPageAfter(
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(SUMMARY_SELECT + "from Blog b join b.category c where b.authorId = :authorId order by b.createdAt desc, b.id desc")
+    List<BlogSummaryDto> findSummaryPageByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT
+            + "from Blog b join b.category c "
+            + "where b.authorId = :authorId "
+            + "and (b.createdAt < :createdAt or (b.createdAt = :createdAt and b.id < :id)) "
+            + "order by b.createdAt desc, b.id desc")
+    List<BlogSummaryDto> findSummaryPageByAuthorIdAfter(
+            @Param("authorId") Long authorId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,38 @@
+package com.blogsite.blog.repository;
+
+import com.blogsite.blog.domain.CategoryDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CategoryDailyStatsRepository extends JpaRepository<CategoryDailyStats, CategoryDailyStats.Key> {
+
+    List<CategoryDailyStats> findByCategoryIdAndDayBetweenOrderByDay(Long categoryId, LocalDate from, LocalDate to);
+
+    /**
+     * Adds the deltas to the row for the given category and day, creating it if needed.
+     * The single statement keeps concurrent writers from losing each other's increments.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_daily_stats (category_id, day, post_count, total_words) "
+            + "VALUES (:categoryId, :day, :posts, :words) "
+            + "ON DUPLICATE KEY UPDATE post_count = post_count + :posts, total_words = total_words + :words",
+            nativeQuery = true)
+    void adjust(@Param("categoryId") Long categoryId, @Param("day") LocalDate day,
+                @Param("posts") long posts, @Param("words") long words);
+
+    @Modifying
+    @Query(value = "DELETE FROM category_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO category_daily_stats (category_id, day, post_count, total_words) "
+            + "SELECT category_id, DATE(created_at), COUNT(*), COALESCE(SUM(word_count), 0) "
+            + "FROM blogs GROUP BY category_id, DATE(created_at)",
+            nativeQuery = true)
+    int rebuildFromBlogs();
+}
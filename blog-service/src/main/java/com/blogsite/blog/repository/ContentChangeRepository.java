@@ -0,0 +1,41 @@
+package com.blogsite.blog.repository;
+
+import com.blogsite.blog.domain.ContentChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ContentChangeRepository extends JpaRepository<ContentChange, ContentChange.Key> {
+
+    @Query(value = "SELECT version FROM content_versions WHERE scope = :scope", nativeQuery = true)
+    Optional<Long> findVersion(@Param("scope") String scope);
+
+    /**
+     * Takes the next content version. The row lock is held until commit, so writers that
+     * record changes go through here one at a time, in commit order.
+     */
+    @Modifying
+    @Query(value = "UPDATE content_versions SET version = version + 1 WHERE scope = 'all'", nativeQuery = true)
+    int incrementGlobalVersion();
+
+    @Modifying
+    @Query(value = "INSERT INTO content_versions (scope, version) VALUES (:scope, :version) "
+            + "ON DUPLICATE KEY UPDATE version = :version",
+            nativeQuery = true)
+    void setVersion(@Param("scope") String scope, @Param("version") long version);
+
+    @Query("select c from ContentChange c where c.version > :after and c.version <= :upTo order by c.version, c.ordinal")
+    List<ContentChange> findVersionsBetween(@Param("after") long after, @Param("upTo") long upTo);
+
+    @Query("select min(c.version) from ContentChange c")
+    Optional<Long> findOldestVersion();
+
+    @Modifying
+    @Query("delete from ContentChange c where c.changedAt < :before")
+    int deleteChangedBefore(@Param("before") Instant before);
+}
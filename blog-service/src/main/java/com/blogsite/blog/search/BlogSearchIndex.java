@@ -0,0 +1,275 @@
+package com.blogsite.blog.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over blog text, ranked with BM25.
+ *
+ * <p>Every indexed version of a blog gets a fresh, increasing ordinal so posting lists stay
+ * append-only. Updating or removing a blog tombstones its old ordinal; tombstoned entries are
+ * skipped at query time and dropped once they make up a quarter of the index.
+ * Document frequencies include tombstoned entries until the next compaction.
+ */
+@Component
+public class BlogSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+
+    public record ScoredBlog(long blogId, double score) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsByBlogId = new HashMap<>();
+    private long[] blogIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private BitSet tombstones = new BitSet();
+    private int nextOrdinal;
+    private int liveCount;
+    private long liveLength;
+
+    /**
+     * Adds a blog, replacing any previously indexed version.
+     */
+    public void index(long blogId, String text) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] length = new int[1];
+        Tokenizer.tokenize(text, (term, start, end) -> {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+            length[0]++;
+        });
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(blogId);
+            int ordinal = nextOrdinal++;
+            ensureCapacity(ordinal + 1);
+            blogIds[ordinal] = blogId;
+            lengths[ordinal] = length[0];
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new PostingList()).add(ordinal, entry.getValue()[0]);
+            }
+            ordinalsByBlogId.put(blogId, ordinal);
+            liveCount++;
+            liveLength += length[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long blogId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(blogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every blog not in {@code blogIds}, for a rebuild that may have missed deletes.
+     * Returns how many were removed.
+     */
+    public int retain(Set<Long> blogIds) {
+        lock.writeLock().lock();
+        try {
+            List<Long> stale = new ArrayList<>();
+            for (Long blogId : ordinalsByBlogId.keySet()) {
+                if (!blogIds.contains(blogId)) {
+                    stale.add(blogId);
+                }
+            }
+            for (Long blogId : stale) {
+                removeLocked(blogId);
+            }
+            return stale.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns query terms in the form they are indexed, for highlighting.
+     */
+    public static Set<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        Tokenizer.tokenize(query, (term, start, end) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * Scores every blog containing at least one query term and returns the best {@code limit},
+     * highest score first.
+     */
+    public List<ScoredBlog> search(String query, int limit) {
+        Set<String> terms = terms(query);
+        if (terms.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return Collections.emptyList();
+            }
+            List<PostingList.Cursor> cursors = new ArrayList<>(terms.size());
+            double[] idfs = new double[terms.size()];
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double df = Math.min(list.documentCount(), liveCount);
+                idfs[cursors.size()] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+                PostingList.Cursor cursor = list.cursor();
+                cursor.next();
+                cursors.add(cursor);
+            }
+            if (cursors.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            double averageLength = (double) liveLength / liveCount;
+            PriorityQueue<ScoredOrdinal> top = new PriorityQueue<>(limit + 1);
+
+            // Document-at-a-time: all cursors are ordered by ordinal, so each step scores the smallest one
+            while (true) {
+                int ordinal = Integer.MAX_VALUE;
+                for (PostingList.Cursor cursor : cursors) {
+                    ordinal = Math.min(ordinal, cursor.ordinal());
+                }
+                if (ordinal == Integer.MAX_VALUE) {
+                    break;
+                }
+                double score = 0;
+                double norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                for (int i = 0; i < cursors.size(); i++) {
+                    PostingList.Cursor cursor = cursors.get(i);
+                    if (cursor.ordinal() == ordinal) {
+                        int tf = cursor.termFrequency();
+                        score += idfs[i] * tf * (K1 + 1) / (tf + norm);
+                        cursor.next();
+                    }
+                }
+                if (tombstones.get(ordinal)) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(new ScoredOrdinal(ordinal, score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new ScoredOrdinal(ordinal, score));
+                }
+            }
+
+            ScoredBlog[] results = new ScoredBlog[top.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                ScoredOrdinal hit = top.poll();
+                results[i] = new ScoredBlog(blogIds[hit.ordinal()], hit.score());
+            }
+            return Arrays.asList(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record ScoredOrdinal(int ordinal, double score) implements Comparable<ScoredOrdinal> {
+        @Override
+        public int compareTo(ScoredOrdinal other) {
+            return Double.compare(score, other.score);
+        }
+    }
+
+    private void removeLocked(long blogId) {
+        Integer ordinal = ordinalsByBlogId.remove(blogId);
+        if (ordinal == null) {
+            return;
+        }
+        tombstones.set(ordinal);
+        liveCount--;
+        liveLength -= lengths[ordinal];
+        int tombstoneCount = nextOrdinal - liveCount;
+        if (tombstoneCount >= MIN_TOMBSTONES_FOR_COMPACTION && tombstoneCount * 4 > nextOrdinal) {
+            compactLocked();
+        }
+    }
+
+    /**
+     * Renumbers live documents densely and rewrites every posting list without tombstoned entries.
+     */
+    private void compactLocked() {
+        int[] remap = new int[nextOrdinal];
+        long[] newBlogIds = new long[Math.max(1024, liveCount)];
+        int[] newLengths = new int[newBlogIds.length];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (tombstones.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = live;
+                newBlogIds[live] = blogIds[ordinal];
+                newLengths[live] = lengths[ordinal];
+                live++;
+            }
+        }
+
+        Map<String, PostingList> compacted = new HashMap<>(postings.size());
+        Iterator<Map.Entry<String, PostingList>> entries = postings.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, PostingList> entry = entries.next();
+            PostingList rewritten = new PostingList();
+            PostingList.Cursor cursor = entry.getValue().cursor();
+            while (cursor.next()) {
+                int mapped = remap[cursor.ordinal()];
+                if (mapped >= 0) {
+                    rewritten.add(mapped, cursor.termFrequency());
+                }
+            }
+            entries.remove();
+            if (rewritten.documentCount() > 0) {
+                rewritten.trimToSize();
+                compacted.put(entry.getKey(), rewritten);
+            }
+        }
+
+        ordinalsByBlogId.replaceAll((blogId, ordinal) -> remap[ordinal]);
+        postings = compacted;
+        blogIds = newBlogIds;
+        lengths = newLengths;
+        tombstones = new BitSet();
+        nextOrdinal = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > blogIds.length) {
+            int newLength = Math.max(capacity, blogIds.length * 2);
+            blogIds = Arrays.copyOf(blogIds, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+        }
+    }
+}
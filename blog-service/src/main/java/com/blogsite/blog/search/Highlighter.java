@@ -0,0 +1,51 @@
+package com.blogsite.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cuts a window of text around the first query match and reports where each match sits in it.
+ */
+public final class Highlighter {
+
+    public record Snippet(String text, List<int[]> matches) {
+    }
+
+    private Highlighter() {
+    }
+
+    public static Snippet snippet(String text, Set<String> terms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return new Snippet("", List.of());
+        }
+        int[] firstMatch = {-1};
+        Tokenizer.tokenize(text, (term, start, end) -> {
+            if (firstMatch[0] < 0 && terms.contains(term)) {
+                firstMatch[0] = start;
+            }
+        });
+
+        int start = 0;
+        if (firstMatch[0] > maxLength / 4) {
+            // Leave some leading context and start on a word boundary
+            start = firstMatch[0] - maxLength / 4;
+            while (start < firstMatch[0] && !Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+            while (start < firstMatch[0] && Character.isWhitespace(text.charAt(start))) {
+                start++;
+            }
+        }
+        int end = Math.min(text.length(), start + maxLength);
+        String window = text.substring(start, end);
+
+        List<int[]> matches = new ArrayList<>();
+        Tokenizer.tokenize(window, (term, from, to) -> {
+            if (terms.contains(term)) {
+                matches.add(new int[]{from, to});
+            }
+        });
+        return new Snippet(window, matches);
+    }
+}
@@ -0,0 +1,101 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.CompressedTextConverter;
+import com.blogsite.blog.repository.BlogContentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Rewrites article bodies stored as plain text before compression was introduced. Runs in
+ * the background in small batches, one transaction each; reads work the whole time because
+ * the converter accepts both formats.
+ */
+@Component
+public class ArticleCompressionMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleCompressionMigration.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final BlogContentRepository blogContentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public ArticleCompressionMigration(
+            BlogContentRepository blogContentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${blog.storage.compress-existing:true}") boolean enabled
+    ) {
+        this.blogContentRepository = blogContentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "article-compression");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private record Batch(long lastId, long plainBytes, long storedBytes, int compressed) {
+    }
+
+    private void run() {
+        long lastId = 0;
+        long plainBytes = 0;
+        long storedBytes = 0;
+        int compressed = 0;
+        try {
+            while (true) {
+                long afterId = lastId;
+                Batch batch = transactionTemplate.execute(status -> compressBatch(afterId));
+                if (batch == null) {
+                    break;
+                }
+                lastId = batch.lastId();
+                plainBytes += batch.plainBytes();
+                storedBytes += batch.storedBytes();
+                compressed += batch.compressed();
+            }
+            if (compressed > 0) {
+                logger.info("Compressed {} articles: {} bytes down to {}", compressed, plainBytes, storedBytes);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Article compression stopped after blog id {}", lastId, e);
+        }
+    }
+
+    private Batch compressBatch(long afterId) {
+        List<BlogContentRepository.StoredArticle> rows = blogContentRepository.findUncompressedArticles(afterId, BATCH_SIZE);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        long plainBytes = 0;
+        long storedBytes = 0;
+        int compressed = 0;
+        for (BlogContentRepository.StoredArticle row : rows) {
+            byte[] plain = row.getArticle();
+            byte[] encoded = CompressedTextConverter.encode(new String(plain, StandardCharsets.UTF_8));
+            // Incompressible text comes back unchanged and stays as it is
+            if (CompressedTextConverter.isCompressed(encoded)
+                    && blogContentRepository.replaceStoredArticle(row.getId(), encoded, plain) == 1) {
+                plainBytes += plain.length;
+                storedBytes += encoded.length;
+                compressed++;
+            }
+        }
+        return new Batch(rows.get(rows.size() - 1).getId(), plainBytes, storedBytes, compressed);
+    }
+}
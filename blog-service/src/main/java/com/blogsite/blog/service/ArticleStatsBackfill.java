@@ -0,0 +1,107 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.ArticleStats;
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.repository.BlogContentRepository;
+import com.blogsite.blog.repository.BlogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills in word count, reading time, character count and snippet for rows written before
+ * those columns existed. Runs in the background in small batches, one transaction each.
+ * Rows are written with bulk updates that leave their version alone, so the backfill never
+ * conflicts with a concurrent edit. Each batch is still recorded as a content change, so list
+ * ETags move and caches holding the empty figures are evicted.
+ */
+@Component
+public class ArticleStatsBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleStatsBackfill.class);
+    private static final int BATCH_SIZE = 200;
+
+    private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
+    private final CategoryRollupService categoryRollupService;
+    private final ContentVersions contentVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ArticleStatsBackfill(BlogRepository blogRepository, BlogContentRepository blogContentRepository,
+                                CategoryRollupService categoryRollupService, ContentVersions contentVersions,
+                                PlatformTransactionManager transactionManager) {
+        this.blogRepository = blogRepository;
+        this.blogContentRepository = blogContentRepository;
+        this.categoryRollupService = categoryRollupService;
+        this.contentVersions = contentVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread worker = new Thread(this::run, "article-stats-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private record Batch(long lastId, int size) {
+    }
+
+    private void run() {
+        long lastId = 0;
+        long updated = 0;
+        try {
+            while (true) {
+                long afterId = lastId;
+                Batch batch = transactionTemplate.execute(status -> backfillBatch(afterId));
+                if (batch == null) {
+                    break;
+                }
+                updated += batch.size();
+                lastId = batch.lastId();
+            }
+            if (updated > 0) {
+                logger.info("Backfilled article stats for {} blogs", updated);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Article stats backfill stopped after blog id {}", lastId, e);
+        }
+    }
+
+    private Batch backfillBatch(long afterId) {
+        List<Blog> blogs = blogRepository.findMissingArticleStats(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (blogs.isEmpty()) {
+            return null;
+        }
+        blogContentRepository.attachArticles(blogs);
+        // Detached, so the word counts set below for the rollup are never flushed as versioned updates
+        entityManager.clear();
+        List<Blog> filled = new ArrayList<>(blogs.size());
+        for (Blog blog : blogs) {
+            ArticleStats stats = ArticleStats.scan(blog.getArticle());
+            if (blogRepository.fillMissingArticleStats(blog.getId(), stats.wordCount(), stats.characterCount(),
+                    stats.readingTimeMinutes(), stats.snippet(), ArticleStats.hash(blog.getArticle())) == 1) {
+                blog.setWordCount(stats.wordCount());
+                filled.add(blog);
+            }
+        }
+        categoryRollupService.recordWordsBackfilled(filled);
+        if (!filled.isEmpty()) {
+            contentVersions.recordRewritten(filled);
+        }
+        return new Batch(blogs.get(blogs.size() - 1).getId(), filled.size());
+    }
+}
@@ -0,0 +1,21 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Blog;
+
+/**
+ * Published by {@link BlogService} whenever a blog is added, updated or deleted.
+ * For deletions {@code blog} holds the state the row had before it was removed.
+ * {@code previousCategoryName} is set only when an update moved the blog to another category.
+ */
+public record BlogChangedEvent(Type type, Blog blog, String previousCategoryName) {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        DELETED
+    }
+
+    public BlogChangedEvent(Type type, Blog blog) {
+        this(type, blog, null);
+    }
+}
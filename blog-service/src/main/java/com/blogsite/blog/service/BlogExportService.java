@@ -0,0 +1,104 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.BlogContent;
+import com.blogsite.blog.repository.BlogContentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Writes the blog corpus as newline-delimited JSON straight from a database cursor,
+ * so memory use does not grow with the size of the table. Each export holds a pooled
+ * connection for its whole run, so only {@code blog.export.max-concurrent} run at once.
+ */
+@Service
+public class BlogExportService {
+
+    /**
+     * Every export slot is taken.
+     */
+    public static class ExportsBusyException extends RuntimeException {
+        ExportsBusyException() {
+            super("Too many exports are running");
+        }
+    }
+
+    /**
+     * One reserved export slot; closing it frees the slot.
+     */
+    public interface Slot extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final BlogContentRepository blogContentRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BlogExportService(BlogContentRepository blogContentRepository, ObjectMapper objectMapper,
+                             @Value("${blog.export.max-concurrent:2}") int maxConcurrent) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("blog.export.max-concurrent must be positive");
+        }
+        this.blogContentRepository = blogContentRepository;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Takes an export slot without waiting, before the response is committed.
+     *
+     * @throws ExportsBusyException when every slot is taken
+     */
+    public Slot reserve() {
+        if (!slots.tryAcquire()) {
+            throw new ExportsBusyException();
+        }
+        return slots::release;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(String categoryName, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        Instant fromInstant = from == null ? null : from.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant toInstant = to == null ? null
+                : to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().minusSeconds(1);
+
+        long written = 0;
+        try (Stream<BlogContent> contents = blogContentRepository.streamForExport(categoryName, fromInstant, toInstant);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            Iterator<BlogContent> rows = contents.iterator();
+            while (rows.hasNext()) {
+                BlogContent content = rows.next();
+                Blog blog = content.getBlog();
+                blog.setArticle(content.getArticle());
+                generator.writeObject(blog);
+                generator.writeRaw('\n');
+                written++;
+                // Drop everything loaded so far so the persistence context does not grow with the export
+                if (written % BlogContentRepository.EXPORT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        return written;
+    }
+}
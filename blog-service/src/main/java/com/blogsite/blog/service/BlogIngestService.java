@@ -0,0 +1,175 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.ArticleStats;
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.BlogContent;
+import com.blogsite.blog.domain.Category;
+import com.blogsite.blog.factory.BulkBlogItem;
+import com.blogsite.blog.factory.BulkIngestResponse;
+import com.blogsite.blog.repository.BlogContentRepository;
+import com.blogsite.blog.repository.BlogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk import of blogs. Items are validated in parallel against the same rules as
+ * {@link BlogService#addBlog}, then valid ones are inserted in chunks, one transaction per
+ * chunk, through Hibernate's JDBC batching. Invalid items and failed chunks are reported
+ * per item instead of failing the whole request.
+ */
+@Service
+public class BlogIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogIngestService.class);
+
+    private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final CategoryRollupService categoryRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BlogIngestService(
+            BlogRepository blogRepository,
+            BlogContentRepository blogContentRepository,
+            CategoryRegistry categoryRegistry,
+            CategoryRollupService categoryRollupService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${blog.ingest.max-items:10000}") int maxItems,
+            @Value("${blog.ingest.chunk-size:500}") int chunkSize
+    ) {
+        this.blogRepository = blogRepository;
+        this.blogContentRepository = blogContentRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.categoryRollupService = categoryRollupService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkIngestResponse ingest(Long authorId, String authorName, List<BulkBlogItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one blog is required");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " blogs can be imported per request");
+        }
+
+        Map<String, Optional<Category>> categories = resolveCategories(items);
+        Blog[] blogs = new Blog[items.size()];
+        String[] errors = new String[items.size()];
+        // Word counting dominates validation, so items are checked in parallel
+        IntStream.range(0, items.size()).parallel().forEach(i -> {
+            try {
+                blogs[i] = toBlog(authorId, authorName, items.get(i), categories);
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+
+        List<BulkIngestResponse.Inserted> inserted = new ArrayList<>();
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < blogs.length; i++) {
+            if (blogs[i] != null) {
+                chunk.add(i);
+            }
+            if (chunk.size() == chunkSize || (i == blogs.length - 1 && !chunk.isEmpty())) {
+                insertChunk(chunk, blogs, errors, inserted);
+                chunk.clear();
+            }
+        }
+
+        List<BulkIngestResponse.Failed> failed = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                failed.add(new BulkIngestResponse.Failed(i, items.get(i).getBlogName(), errors[i]));
+            }
+        }
+        BulkIngestResponse response = new BulkIngestResponse();
+        response.setReceived(items.size());
+        response.setInsertedCount(inserted.size());
+        response.setFailedCount(failed.size());
+        response.setInserted(inserted);
+        response.setFailed(failed);
+        return response;
+    }
+
+    // Each distinct category name is looked up once for the whole request
+    private Map<String, Optional<Category>> resolveCategories(List<BulkBlogItem> items) {
+        Map<String, Optional<Category>> categories = new HashMap<>();
+        for (BulkBlogItem item : items) {
+            String name = item.getCategory();
+            if (name != null && !categories.containsKey(name)) {
+                categories.put(name, categoryRegistry.findByName(name));
+            }
+        }
+        return categories;
+    }
+
+    private Blog toBlog(Long authorId, String authorName, BulkBlogItem item, Map<String, Optional<Category>> categories) {
+        ArticleStats stats = BlogService.validateNewBlog(item.getBlogName(), item.getCategory(), item.getArticle());
+        Category category = categories.get(item.getCategory())
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+        Blog blog = new Blog();
+        blog.setAuthorId(authorId);
+        blog.setAuthorName(authorName);
+        blog.setBlogName(item.getBlogName());
+        blog.setCategory(category);
+        blog.setArticle(item.getArticle());
+        blog.applyArticleStats(stats, item.getArticle());
+        return blog;
+    }
+
+    private void insertChunk(List<Integer> indexes, Blog[] blogs, String[] errors,
+                             List<BulkIngestResponse.Inserted> inserted) {
+        List<Blog> chunk = new ArrayList<>(indexes.size());
+        List<BlogContent> contents = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            chunk.add(blogs[index]);
+            contents.add(new BlogContent(blogs[index], blogs[index].getArticle()));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                blogRepository.saveAll(chunk);
+                blogContentRepository.saveAll(contents);
+                // Flush as one batch, then drop the chunk so the persistence context stays small
+                entityManager.flush();
+                entityManager.clear();
+                categoryRollupService.recordAddedAll(chunk);
+                for (Blog blog : chunk) {
+                    eventPublisher.publishEvent(new BlogChangedEvent(BlogChangedEvent.Type.ADDED, blog));
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Bulk insert of {} blogs failed", chunk.size(), e);
+            for (int index : indexes) {
+                errors[index] = "Could not store blog";
+            }
+            return;
+        }
+        for (int index : indexes) {
+            inserted.add(new BulkIngestResponse.Inserted(index, blogs[index].getId()));
+        }
+    }
+}
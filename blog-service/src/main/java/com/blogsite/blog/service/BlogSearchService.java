@@ -0,0 +1,282 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.BlogContent;
+import com.blogsite.blog.factory.BlogSearchHit;
+import com.blogsite.blog.repository.BlogContentRepository;
+import com.blogsite.blog.repository.BlogRepository;
+import com.blogsite.blog.search.BlogSearchIndex;
+import com.blogsite.blog.search.Highlighter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link BlogSearchIndex} in step with the blogs table and answers full-text queries.
+ * The index is built on the {@code search-index-build} thread once the application is ready,
+ * and rebuilt there when the change feed reports a gap; until a build finishes, results only
+ * cover the blogs indexed so far.
+ *
+ * <p>A build reads one snapshot and can overwrite a blog with a version older than a change
+ * applied meanwhile, so blogs changed during a build are reloaded once it finishes. Blogs the
+ * snapshot did not contain are dropped, so deletes missed in a gap leave no postings behind.
+ */
+@Service
+public class BlogSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogSearchService.class);
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    private static final int SNIPPET_LENGTH = 240;
+
+    private final BlogSearchIndex searchIndex;
+    private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-build");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean buildQueued = new AtomicBoolean();
+    private volatile boolean building;
+    private Set<Long> changedDuringBuild;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BlogSearchService(BlogSearchIndex searchIndex, BlogRepository blogRepository,
+                             BlogContentRepository blogContentRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.searchIndex = searchIndex;
+        this.blogRepository = blogRepository;
+        this.blogContentRepository = blogContentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        scheduleBuild();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        builder.shutdownNow();
+    }
+
+    /**
+     * Whether a build is queued or running.
+     */
+    public boolean isBuilding() {
+        return buildQueued.get() || building;
+    }
+
+    // One queued build covers every gap reported before it starts
+    private void scheduleBuild() {
+        if (!buildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            builder.execute(() -> {
+                building = true;
+                buildQueued.set(false);
+                try {
+                    indexAll();
+                } finally {
+                    building = false;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            buildQueued.set(false);
+        }
+    }
+
+    private void indexAll() {
+        synchronized (this) {
+            changedDuringBuild = new LinkedHashSet<>();
+        }
+        try {
+            buildFromSnapshot();
+            replayChangedDuringBuild();
+        } finally {
+            synchronized (this) {
+                changedDuringBuild = null;
+            }
+        }
+    }
+
+    private void buildFromSnapshot() {
+        long started = System.currentTimeMillis();
+        try {
+            Set<Long> indexed = readOnlyTransaction.execute(status -> {
+                Set<Long> ids = new HashSet<>();
+                try (Stream<BlogContent> contents = blogContentRepository.streamForExport(null, null, null)) {
+                    for (BlogContent content : (Iterable<BlogContent>) contents::iterator) {
+                        Blog blog = content.getBlog();
+                        blog.setArticle(content.getArticle());
+                        searchIndex.index(blog.getId(), searchableText(blog));
+                        ids.add(blog.getId());
+                        if (ids.size() % BlogContentRepository.EXPORT_BATCH_SIZE == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+                return ids;
+            });
+            int count = indexed.size();
+            // Blogs written after the snapshot are kept; the replay reloads or removes them
+            synchronized (this) {
+                indexed.addAll(changedDuringBuild);
+            }
+            int removed = searchIndex.retain(indexed);
+            logger.info("Search index built: {} blogs, {} stale removed, in {} ms",
+                    count, removed, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Search index build failed", e);
+        }
+    }
+
+    /**
+     * Reloads the blogs changed while the build ran, again while more arrive during the reload.
+     */
+    private void replayChangedDuringBuild() {
+        while (true) {
+            List<Long> ids;
+            synchronized (this) {
+                if (changedDuringBuild.isEmpty()) {
+                    return;
+                }
+                ids = new ArrayList<>(changedDuringBuild);
+                changedDuringBuild = new LinkedHashSet<>();
+            }
+            reindex(ids);
+        }
+    }
+
+    // Before applying the change, so a build that is about to finish still sees it
+    private synchronized void recordIfBuilding(Long blogId) {
+        if (changedDuringBuild != null) {
+            changedDuringBuild.add(blogId);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBlogChanged(BlogChangedEvent event) {
+        Blog blog = event.blog();
+        recordIfBuilding(blog.getId());
+        if (event.type() == BlogChangedEvent.Type.DELETED) {
+            searchIndex.remove(blog.getId());
+        } else {
+            searchIndex.index(blog.getId(), searchableText(blog));
+        }
+    }
+
+    /**
+     * Applies writes read back from the change log, including those handled by other instances.
+     * Blogs are reloaded, so replaying a change this instance already applied is harmless.
+     * A gap queues a rebuild on the build thread rather than holding up the follower.
+     */
+    @EventListener
+    public void onContentChanges(ContentChangesEvent event) {
+        if (!event.complete()) {
+            scheduleBuild();
+            return;
+        }
+        Set<Long> changed = new LinkedHashSet<>();
+        for (ChangeFeed.Change change : event.changes()) {
+            if (change.blogId() != null) {
+                recordIfBuilding(change.blogId());
+                changed.add(change.blogId());
+            }
+        }
+        reindex(new ArrayList<>(changed));
+    }
+
+    private void reindex(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += BlogContentRepository.EXPORT_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + BlogContentRepository.EXPORT_BATCH_SIZE));
+            readOnlyTransaction.executeWithoutResult(status -> reindexBatch(batch));
+        }
+    }
+
+    private void reindexBatch(List<Long> ids) {
+        Map<Long, Blog> blogs = blogContentRepository.attachArticles(blogRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Blog::getId, Function.identity()));
+        for (Long id : ids) {
+            Blog blog = blogs.get(id);
+            if (blog == null) {
+                searchIndex.remove(id);
+            } else {
+                searchIndex.index(id, searchableText(blog));
+            }
+        }
+    }
+
+    public List<BlogSearchHit> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<BlogSearchIndex.ScoredBlog> ranked = searchIndex.search(query, size);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = ranked.stream().map(BlogSearchIndex.ScoredBlog::blogId).collect(Collectors.toList());
+        Map<Long, Blog> blogs = blogContentRepository.attachArticles(blogRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Blog::getId, Function.identity()));
+        Set<String> terms = BlogSearchIndex.terms(query);
+
+        List<BlogSearchHit> hits = new ArrayList<>(ranked.size());
+        for (BlogSearchIndex.ScoredBlog scored : ranked) {
+            Blog blog = blogs.get(scored.blogId());
+            if (blog == null) {
+                // Deleted between ranking and loading
+                continue;
+            }
+            Highlighter.Snippet snippet = Highlighter.snippet(blog.getArticle(), terms, SNIPPET_LENGTH);
+            BlogSearchHit hit = new BlogSearchHit();
+            hit.setId(blog.getId());
+            hit.setBlogName(blog.getBlogName());
+            hit.setCategory(blog.getCategory().getName());
+            hit.setAuthorName(blog.getAuthorName());
+            hit.setCreatedAt(blog.getCreatedAt());
+            hit.setScore(scored.score());
+            hit.setSnippet(snippet.text());
+            hit.setHighlights(snippet.matches().stream()
+                    .map(range -> new BlogSearchHit.Highlight(range[0], range[1]))
+                    .collect(Collectors.toList()));
+            hits.add(hit);
+        }
+        return hits;
+    }
+
+    private String searchableText(Blog blog) {
+        return blog.getBlogName() + "\n" + blog.getArticle();
+    }
+}
@@ -1,26 +1,38 @@
 package com.blogsite.blog.service;
 
+import com.blogsite.blog.domain.ArticleStats;
 import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.BlogContent;
 import com.blogsite.blog.domain.Category;
+import com.blogsite.blog.repository.BlogContentRepository;
 import com.blogsite.blog.repository.BlogRepository;
 import com.blogsite.blog.repository.CategoryRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Component
 @Order(2)
 public class BlogSeeder implements CommandLineRunner {
 
     private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryRollupService categoryRollupService;
 
-    public BlogSeeder(BlogRepository blogRepository, CategoryRepository categoryRepository) {
+    public BlogSeeder(BlogRepository blogRepository, BlogContentRepository blogContentRepository,
+                      CategoryRepository categoryRepository, CategoryRollupService categoryRollupService) {
         this.blogRepository = blogRepository;
+        this.blogContentRepository = blogContentRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryRollupService = categoryRollupService;
     }
 
     @Override
+    @Transactional
     public void run(String... args) {
         if (blogRepository.count() > 0) {
             return;
@@ -53,8 +65,14 @@ public class BlogSeeder implements CommandLineRunner {
                 "We live in a culture obsessed with grand finales: the big promotion, the finished novel, the massive weight loss goal. We fixate on these distant finish lines, often feeling discouraged by the long, arduous journey. But what if the secret to lasting motivation, resilience, and happiness isn't in the major milestones, but in the almost-invisible steps we take each day? Welcome to the art of the Small Win. A small win is any tiny, positive outcome that is within your control. It's not get a book deal, but write 200 words today. It's not run a marathon, but put on my running shoes and walk for 10 minutes. These wins are actionable, immediate, and proof of forward momentum, no matter how slight. Small wins are powerful because they combat overwhelm, rewire your brain for success, build consistency, and foster resilience. When you break down huge goals into bite-sized pieces, they become manageable. Every time you acknowledge a win, your brain releases dopamine, which boosts motivation and focus. Small wins are the building blocks of habit formation and help you maintain momentum even on difficult days."
         ));
 
-        blogRepository.save(adminBlog);
-        blogRepository.save(userBlog);
+        adminBlog.applyArticleStats(ArticleStats.scan(adminBlog.getArticle()), adminBlog.getArticle());
+        userBlog.applyArticleStats(ArticleStats.scan(userBlog.getArticle()), userBlog.getArticle());
+
+        for (Blog blog : List.of(adminBlog, userBlog)) {
+            Blog saved = blogRepository.save(blog);
+            blogContentRepository.save(new BlogContent(saved, blog.getArticle()));
+            categoryRollupService.recordAdded(saved);
+        }
     }
 
     private String generateArticle(String title, String intro) {
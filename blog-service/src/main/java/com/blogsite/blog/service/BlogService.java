@@ -1,54 +1,114 @@
 package com.blogsite.blog.service;
 
+import com.blogsite.blog.domain.ArticleStats;
 import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.BlogContent;
 import com.blogsite.blog.domain.Category;
+import com.blogsite.blog.factory.BlogCursor;
+import com.blogsite.blog.factory.BlogPageResponse;
+import com.blogsite.blog.factory.BlogSummaryDto;
 import com.blogsite.blog.factory.BlogSummaryResponse;
 import com.blogsite.blog.factory.BlogSummaryResponseBuilder;
+import com.blogsite.blog.repository.BlogContentRepository;
 import com.blogsite.blog.repository.BlogRepository;
 import com.blogsite.blog.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class BlogService {
 
     private final BlogRepository blogRepository;
+    private final BlogContentRepository blogContentRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final CategoryRollupService categoryRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public BlogService(BlogRepository blogRepository, CategoryRepository categoryRepository) {
+    public BlogService(
+            BlogRepository blogRepository,
+            BlogContentRepository blogContentRepository,
+            CategoryRepository categoryRepository,
+            CategoryRegistry categoryRegistry,
+            CategoryRollupService categoryRollupService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${blog.listing.default-page-size:20}") int defaultPageSize,
+            @Value("${blog.listing.max-page-size:100}") int maxPageSize
+    ) {
         this.blogRepository = blogRepository;
+        this.blogContentRepository = blogContentRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.categoryRollupService = categoryRollupService;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @Transactional
     public Blog addBlog(Long authorId, String authorName, String blogName, String categoryName, String article) {
+        ArticleStats stats = validateNewBlog(blogName, categoryName, article);
+        Category category = categoryRegistry.findByName(categoryName)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+        Blog blog = new Blog();
+        blog.setAuthorId(authorId);
+        blog.setAuthorName(authorName);
+        blog.setBlogName(blogName);
+        blog.setCategory(category);
+        blog.setArticle(article);
+        blog.applyArticleStats(stats, article);
+        Blog saved = blogRepository.save(blog);
+        blogContentRepository.save(new BlogContent(saved, article));
+        categoryRollupService.recordAdded(saved);
+        eventPublisher.publishEvent(new BlogChangedEvent(BlogChangedEvent.Type.ADDED, saved));
+        return saved;
+    }
+
+    /**
+     * Checks the rules every new blog must satisfy and returns the article stats computed
+     * along the way. Shared with {@link BlogIngestService}.
+     */
+    static ArticleStats validateNewBlog(String blogName, String categoryName, String article) {
         if (blogName == null || blogName.length() < 20) {
             throw new IllegalArgumentException("Blog name must be at least 20 characters");
         }
         if (categoryName == null || categoryName.length() < 20) {
             throw new IllegalArgumentException("Category must be at least 20 characters");
         }
-        if (article == null || article.trim().split("\\s+").length < 1000) {
+        ArticleStats stats = ArticleStats.scan(article);
+        if (stats.wordCount() < 1000) {
             throw new IllegalArgumentException("Article must be at least 1000 words");
         }
-        Category category = categoryRepository.findByName(categoryName)
-                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
-        Blog blog = new Blog();
-        blog.setAuthorId(authorId);
-        blog.setAuthorName(authorName);
-        blog.setBlogName(blogName);
-        blog.setCategory(category);
-        blog.setArticle(article);
-        return blogRepository.save(blog);
+        return stats;
     }
 
-    public List<Blog> getBlogsForUser(Long authorId) {
-        return blogRepository.findByAuthorId(authorId);
+    @Transactional(readOnly = true)
+    public BlogPageResponse getBlogPageForUser(Long authorId, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<BlogSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = blogRepository.findSummaryPageByAuthorId(authorId, limit);
+        } else {
+            BlogCursor after = BlogCursor.decode(cursor);
+            rows = blogRepository.findSummaryPageByAuthorIdAfter(authorId, after.createdAt(), after.id(), limit);
+        }
+        return toPage(rows, pageSize);
     }
 
     @Transactional
@@ -59,65 +119,150 @@ public class BlogService {
             // Admin can delete any blog by name
             Blog blog = blogRepository.findByBlogName(blogName)
                     .orElseThrow(() -> new IllegalArgumentException("Blog not found"));
+            blogContentRepository.deleteByBlogId(blog.getId());
             blogRepository.delete(blog);
+            categoryRollupService.recordRemoved(blog);
+            eventPublisher.publishEvent(new BlogChangedEvent(BlogChangedEvent.Type.DELETED, blog));
         } else {
             // Regular user can only delete their own blog
             Blog blog = blogRepository.findByAuthorIdAndBlogName(authorId, blogName)
                     .orElseThrow(() -> new IllegalArgumentException("Blog not found for user"));
+            blogContentRepository.deleteByBlogId(blog.getId());
             blogRepository.delete(blog);
+            categoryRollupService.recordRemoved(blog);
+            eventPublisher.publishEvent(new BlogChangedEvent(BlogChangedEvent.Type.DELETED, blog));
         }
     }
 
+    /**
+     * Applies the non-blank fields of an edit. {@code expectedVersion}, when given, must match the
+     * stored version or the update fails with an optimistic-locking conflict. An edit that changes
+     * nothing leaves the row, its version and the caches untouched.
+     */
     @Transactional
-    public Blog updateBlog(Long authorId, Long blogId, String blogName, String categoryName, String article) {
+    public Blog updateBlog(Long authorId, Long blogId, Long expectedVersion,
+                           String blogName, String categoryName, String article) {
         Blog blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new IllegalArgumentException("Blog not found"));
 
         if (!blog.getAuthorId().equals(authorId)) {
             throw new IllegalArgumentException("User cannot update this blog");
         }
+        if (expectedVersion != null && !expectedVersion.equals(blog.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Blog.class, blogId);
+        }
 
+        boolean changed = false;
         if (blogName != null && !blogName.trim().isEmpty()) {
             if (blogName.length() < 20) {
                 throw new IllegalArgumentException("Blog name must be at least 20 characters");
             }
+            changed |= !blogName.equals(blog.getBlogName());
             blog.setBlogName(blogName);
         }
 
+        Category previousCategory = blog.getCategory();
+        Integer previousWordCount = blog.getWordCount();
+        String previousCategoryName = null;
         if (categoryName != null && !categoryName.trim().isEmpty()) {
-            Category category = categoryRepository.findByName(categoryName)
+            Category category = categoryRegistry.findByName(categoryName)
                     .orElseThrow(() -> new IllegalArgumentException("Category not found: " + categoryName));
+            if (!category.getName().equals(blog.getCategory().getName())) {
+                previousCategoryName = blog.getCategory().getName();
+                changed = true;
+            }
             blog.setCategory(category);
         }
 
-        if (article != null && !article.trim().isEmpty()) {
+        boolean articleGiven = article != null && !article.trim().isEmpty();
+        if (articleGiven && Arrays.equals(ArticleStats.hash(article), blog.getArticleHash())) {
+            // Same body as stored: the response and the search index can use the request's copy
             blog.setArticle(article);
+        } else {
+            // Otherwise the body is loaded even when unchanged: the response and the search index need it
+            BlogContent content = blogContentRepository.findById(blogId)
+                    .orElseThrow(() -> new IllegalStateException("Content missing for blog " + blogId));
+            if (articleGiven && !article.equals(content.getArticle())) {
+                content.setArticle(article);
+                blog.applyArticleStats(ArticleStats.scan(article), article);
+                changed = true;
+            }
+            blog.setArticle(content.getArticle());
+        }
+
+        if (!changed) {
+            return blog;
+        }
+        // Flush so the version bump, and any concurrent-edit conflict, surface before we return
+        Blog saved = blogRepository.saveAndFlush(blog);
+        categoryRollupService.recordUpdated(saved, previousCategory, previousWordCount);
+        eventPublisher.publishEvent(new BlogChangedEvent(BlogChangedEvent.Type.UPDATED, saved, previousCategoryName));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public BlogPageResponse getBlogPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<BlogSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = blogRepository.findSummaryPage(limit);
+        } else {
+            BlogCursor after = BlogCursor.decode(cursor);
+            rows = blogRepository.findSummaryPageAfter(after.createdAt(), after.id(), limit);
         }
+        return toPage(rows, pageSize);
+    }
 
-        return blogRepository.save(blog);
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
     }
 
-    public List<Blog> getAllBlogs() {
-        return blogRepository.findAll();
+    // One extra row is fetched so the next cursor is only issued when another page exists
+    private BlogPageResponse toPage(List<BlogSummaryDto> rows, int pageSize) {
+        BlogPageResponse page = new BlogPageResponse();
+        boolean hasMore = rows.size() > pageSize;
+        List<BlogSummaryDto> blogs = hasMore ? rows.subList(0, pageSize) : rows;
+        page.setBlogs(blogs);
+        page.setSize(blogs.size());
+        if (hasMore) {
+            page.setNextCursor(BlogCursor.of(blogs.get(blogs.size() - 1)).encode());
+        }
+        return page;
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Long> getBlogVersion(Long id) {
+        return blogRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Blog getBlogById(Long id) {
-        return blogRepository.findById(id).orElse(null);
+        return blogRepository.findById(id).map(blogContentRepository::attachArticle).orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public List<Blog> getByCategory(String categoryName) {
-        return blogRepository.findByCategoryName(categoryName);
+        return blogContentRepository.attachArticles(blogRepository.findByCategoryName(categoryName));
     }
 
+    @Transactional(readOnly = true)
     public BlogSummaryResponse getByCategoryAndDuration(String categoryName, LocalDate from, LocalDate to) {
         Instant fromInstant = from.atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant toInstant = to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().minusSeconds(1);
-        List<Blog> blogs = blogRepository.findByCategoryNameAndCreatedAtBetween(categoryName, fromInstant, toInstant);
+        List<BlogSummaryDto> summaries =
+                blogRepository.findSummariesByCategoryNameAndCreatedAtBetween(categoryName, fromInstant, toInstant);
         return new BlogSummaryResponseBuilder()
                 .category(categoryName)
                 .from(fromInstant)
                 .to(toInstant)
-                .blogs(blogs)
+                .summaries(summaries)
                 .build();
     }
 
@@ -127,17 +272,24 @@ public class BlogService {
             throw new IllegalArgumentException("Category name must be at least 3 characters");
         }
 
-        // Check if category already exists
-        if (categoryRepository.findByName(name).isPresent()) {
+        // Check if category already exists; the unique constraint catches concurrent creates
+        if (categoryRegistry.findByName(name).isPresent()) {
             throw new IllegalArgumentException("Category already exists");
         }
 
         Category category = new Category();
         category.setName(name);
-        return categoryRepository.save(category);
+        Category saved;
+        try {
+            saved = categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Category already exists");
+        }
+        eventPublisher.publishEvent(new CategoryCreatedEvent(saved));
+        return saved;
     }
 
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public CategoryRegistry.Snapshot getCategorySnapshot() {
+        return categoryRegistry.snapshot();
     }
 }
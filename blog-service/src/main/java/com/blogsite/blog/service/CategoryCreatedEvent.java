@@ -0,0 +1,9 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Category;
+
+/**
+ * Published by {@link BlogService} after a new category has been saved.
+ */
+public record CategoryCreatedEvent(Category category) {
+}
@@ -0,0 +1,152 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Category;
+import com.blogsite.blog.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Copy-on-write view of the categories table. Readers get an immutable snapshot without
+ * locking; writers build a new snapshot and publish it with a single volatile write.
+ * The snapshot also carries the serialized /categories response and its ETag, which is a
+ * hash of the content and so the same on every instance that has caught up.
+ */
+@Component
+public class CategoryRegistry {
+
+    public record Snapshot(Map<String, Category> byName, List<Category> categories, byte[] json, String etag) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+    private final TransactionTemplate newReadOnlyTransaction;
+    private volatile Snapshot snapshot;
+
+    public CategoryRegistry(CategoryRepository categoryRepository, ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.newReadOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.newReadOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.newReadOnlyTransaction.setReadOnly(true);
+        this.hits = meterRegistry.counter("cache.gets", "cache", "categories", "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", "categories", "result", "miss");
+    }
+
+    /**
+     * Reloads after all seeders have run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        snapshot = buildSnapshot(categoryRepository.findAll());
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Resolves a category by name from memory. A miss falls back to the database once, so
+     * categories created by another instance are picked up on first use.
+     */
+    public Optional<Category> findByName(String name) {
+        Category category = snapshot().byName().get(name);
+        if (category != null) {
+            hits.increment();
+            return Optional.of(category);
+        }
+        misses.increment();
+        Optional<Category> stored = categoryRepository.findByName(name);
+        stored.ifPresent(this::register);
+        return stored;
+    }
+
+    /**
+     * Registers the new category as stored rather than as created, so the snapshot and its
+     * ETag match those of other instances byte for byte.
+     */
+    @TransactionalEventListener
+    public void onCategoryCreated(CategoryCreatedEvent event) {
+        newReadOnlyTransaction.executeWithoutResult(status ->
+                categoryRepository.findByName(event.category().getName()).ifPresent(this::register));
+    }
+
+    /**
+     * Picks up categories created through other instances; missed changes reload everything.
+     */
+    @EventListener
+    public void onContentChanges(ContentChangesEvent event) {
+        if (!event.complete()) {
+            reload();
+            return;
+        }
+        for (ChangeFeed.Change change : event.changes()) {
+            if (change.blogId() != null) {
+                continue;
+            }
+            for (String name : change.categories()) {
+                if (!snapshot().byName().containsKey(name)) {
+                    categoryRepository.findByName(name).ifPresent(this::register);
+                }
+            }
+        }
+    }
+
+    private synchronized void register(Category category) {
+        Snapshot current = snapshot();
+        if (current.byName().containsKey(category.getName())) {
+            return;
+        }
+        List<Category> categories = new ArrayList<>(current.categories());
+        categories.add(category);
+        snapshot = buildSnapshot(categories);
+    }
+
+    private Snapshot buildSnapshot(List<Category> categories) {
+        List<Category> sorted = new ArrayList<>(categories);
+        sorted.sort(Comparator.comparing(Category::getId));
+        Map<String, Category> byName = new HashMap<>();
+        for (Category category : sorted) {
+            byName.put(category.getName(), category);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(sorted);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new Snapshot(Collections.unmodifiableMap(byName), Collections.unmodifiableList(sorted), json, etag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not serialize categories", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.Category;
+import com.blogsite.blog.domain.CategoryDailyStats;
+import com.blogsite.blog.factory.CategoryHistogramResponse;
+import com.blogsite.blog.repository.CategoryDailyStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maintains the per-category daily rollup of post counts and word totals and answers
+ * histogram queries from it. Days are UTC dates. Writers call the record methods inside the transaction that
+ * changes the blog, so a rollup row never disagrees with committed blogs.
+ */
+@Service
+public class CategoryRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRollupService.class);
+    private static final int MAX_BUCKETS = 1000;
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        public static Granularity parse(String value) {
+            if (value == null || value.isBlank()) {
+                return DAY;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Granularity must be one of day, week, month");
+            }
+        }
+
+        LocalDate bucketStart(LocalDate day) {
+            return switch (this) {
+                case DAY -> day;
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> day.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate nextBucket(LocalDate start) {
+            return switch (this) {
+                case DAY -> start.plusDays(1);
+                case WEEK -> start.plusWeeks(1);
+                case MONTH -> start.plusMonths(1);
+            };
+        }
+
+        long bucketsBetween(LocalDate firstStart, LocalDate lastStart) {
+            return switch (this) {
+                case DAY -> ChronoUnit.DAYS.between(firstStart, lastStart);
+                case WEEK -> ChronoUnit.WEEKS.between(firstStart, lastStart);
+                case MONTH -> ChronoUnit.MONTHS.between(firstStart, lastStart);
+            } + 1;
+        }
+    }
+
+    private record CategoryDay(Long categoryId, LocalDate day) {
+    }
+
+    private final CategoryDailyStatsRepository dailyStatsRepository;
+    private final CategoryRegistry categoryRegistry;
+
+    public CategoryRollupService(CategoryDailyStatsRepository dailyStatsRepository, CategoryRegistry categoryRegistry) {
+        this.dailyStatsRepository = dailyStatsRepository;
+        this.categoryRegistry = categoryRegistry;
+    }
+
+    @Transactional
+    public void recordAdded(Blog blog) {
+        adjust(blog.getCategory(), blog.getCreatedAt(), 1, words(blog.getWordCount()));
+    }
+
+    @Transactional
+    public void recordRemoved(Blog blog) {
+        adjust(blog.getCategory(), blog.getCreatedAt(), -1, -words(blog.getWordCount()));
+    }
+
+    /**
+     * Moves the blog's contribution from its previous category and word count to the
+     * current ones. Nothing is written when neither changed.
+     */
+    @Transactional
+    public void recordUpdated(Blog blog, Category previousCategory, Integer previousWordCount) {
+        long before = words(previousWordCount);
+        long after = words(blog.getWordCount());
+        if (previousCategory.getId().equals(blog.getCategory().getId())) {
+            if (before != after) {
+                adjust(blog.getCategory(), blog.getCreatedAt(), 0, after - before);
+            }
+            return;
+        }
+        adjust(previousCategory, blog.getCreatedAt(), -1, -before);
+        adjust(blog.getCategory(), blog.getCreatedAt(), 1, after);
+    }
+
+    /**
+     * Records a batch of inserted blogs with one upsert per category and day.
+     */
+    @Transactional
+    public void recordAddedAll(List<Blog> blogs) {
+        adjustAll(blogs, 1);
+    }
+
+    /**
+     * Adds word counts computed by the stats backfill for rows that were counted as zero
+     * words so far.
+     */
+    @Transactional
+    public void recordWordsBackfilled(List<Blog> blogs) {
+        adjustAll(blogs, 0);
+    }
+
+    /**
+     * Regenerates every rollup row from the blogs table in one transaction.
+     */
+    @Transactional
+    public int rebuild() {
+        dailyStatsRepository.deleteAllRows();
+        int rows = dailyStatsRepository.rebuildFromBlogs();
+        logger.info("Rebuilt category rollups: {} category-day rows", rows);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryHistogramResponse histogram(String categoryName, LocalDate from, LocalDate to, String granularityName) {
+        Granularity granularity = Granularity.parse(granularityName);
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        LocalDate firstStart = granularity.bucketStart(from);
+        if (granularity.bucketsBetween(firstStart, granularity.bucketStart(to)) > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range spans more than " + MAX_BUCKETS + " buckets");
+        }
+        Category category = categoryRegistry.findByName(categoryName)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found"));
+
+        // Rows arrive ordered by day, so buckets are filled in a single merge pass
+        List<CategoryDailyStats> rows =
+                dailyStatsRepository.findByCategoryIdAndDayBetweenOrderByDay(category.getId(), from, to);
+        Iterator<CategoryDailyStats> days = rows.iterator();
+        CategoryDailyStats row = days.hasNext() ? days.next() : null;
+        List<CategoryHistogramResponse.Bucket> buckets = new ArrayList<>();
+        long totalPosts = 0;
+        long totalWords = 0;
+        for (LocalDate start = firstStart; !start.isAfter(to); start = granularity.nextBucket(start)) {
+            LocalDate next = granularity.nextBucket(start);
+            long posts = 0;
+            long words = 0;
+            while (row != null && row.getDay().isBefore(next)) {
+                posts += row.getPostCount();
+                words += row.getTotalWords();
+                row = days.hasNext() ? days.next() : null;
+            }
+            buckets.add(new CategoryHistogramResponse.Bucket(start, posts, words));
+            totalPosts += posts;
+            totalWords += words;
+        }
+
+        CategoryHistogramResponse response = new CategoryHistogramResponse();
+        response.setCategory(category.getName());
+        response.setGranularity(granularity.name().toLowerCase(Locale.ROOT));
+        response.setFrom(from);
+        response.setTo(to);
+        response.setTotalPosts(totalPosts);
+        response.setTotalWords(totalWords);
+        response.setBuckets(buckets);
+        return response;
+    }
+
+    // Folds blogs sharing a category and day into a single upsert
+    private void adjustAll(List<Blog> blogs, long postsPerBlog) {
+        Map<CategoryDay, long[]> totals = new HashMap<>();
+        for (Blog blog : blogs) {
+            CategoryDay key = new CategoryDay(blog.getCategory().getId(), dayOf(blog.getCreatedAt()));
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0] += postsPerBlog;
+            total[1] += words(blog.getWordCount());
+        }
+        totals.forEach((key, total) -> {
+            if (total[0] != 0 || total[1] != 0) {
+                dailyStatsRepository.adjust(key.categoryId(), key.day(), total[0], total[1]);
+            }
+        });
+    }
+
+    private void adjust(Category category, Instant createdAt, long posts, long words) {
+        dailyStatsRepository.adjust(category.getId(), dayOf(createdAt), posts, words);
+    }
+
+    // Hibernate stores instants as UTC, so this matches DATE(created_at) in the rebuild query
+    private static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    // Rows not yet reached by the stats backfill count as zero words until it fills them in
+    private static long words(Integer wordCount) {
+        return wordCount == null ? 0 : wordCount;
+    }
+}
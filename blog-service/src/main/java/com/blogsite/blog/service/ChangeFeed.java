@@ -0,0 +1,162 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.ContentChange;
+import com.blogsite.blog.repository.ContentChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Committed content changes in version order, read back from the log {@link ContentVersions}
+ * writes, so every instance serves the same feed. The gateway's response cache polls it, and
+ * each instance follows it to apply writes handled elsewhere to its in-memory state through
+ * {@link ContentChangesEvent}. Reads run in a read-only transaction, so with replicas a change
+ * is reported once a replica has it.
+ *
+ * <p>Changes are kept for {@code retention}: a reader further behind than that, or that sees
+ * a new epoch after the database was recreated, must drop everything it has cached instead of
+ * replaying.
+ */
+@Component
+public class ChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeed.class);
+    private static final int MAX_VERSIONS_PER_PAGE = 1000;
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * One committed write. {@code blogId} is null when only the category list changed.
+     */
+    public record Change(long sequence, Long blogId, List<String> categories) {
+    }
+
+    /**
+     * The changes after the sequence a reader asked for. {@code complete} is false when some
+     * of them have already been pruned.
+     */
+    public record Page(String epoch, long sequence, boolean complete, List<Change> changes) {
+    }
+
+    private final ContentChangeRepository contentChangeRepository;
+    private final ContentVersions contentVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Duration pollInterval;
+    private ScheduledExecutorService follower;
+    private long followed;
+    private long nextPrune;
+
+    public ChangeFeed(ContentChangeRepository contentChangeRepository, ContentVersions contentVersions,
+                      ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                      @Value("${blog.change-feed.retention:1h}") Duration retention,
+                      @Value("${blog.change-feed.poll-interval:250ms}") Duration pollInterval) {
+        if (retention.isNegative() || retention.isZero() || pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("blog.change-feed.retention and poll-interval must be positive");
+        }
+        this.contentChangeRepository = contentChangeRepository;
+        this.contentVersions = contentVersions;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.retention = retention;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Changes committed after {@code sequence}, at most {@value #MAX_VERSIONS_PER_PAGE} versions
+     * at a time; a new reader passes 0.
+     */
+    public Page since(long sequence) {
+        String epoch = contentVersions.epoch();
+        return readOnlyTransaction.execute(status -> {
+            long latest = contentChangeRepository.findVersion(ContentVersions.GLOBAL).orElse(0L);
+            if (sequence >= latest) {
+                // Ahead of us means a replica behind the one the reader saw last, not lost changes
+                return new Page(epoch, Math.max(sequence, latest), true, List.of());
+            }
+            long oldest = contentChangeRepository.findOldestVersion().orElse(latest + 1);
+            if (sequence < oldest - 1) {
+                return new Page(epoch, latest, false, List.of());
+            }
+            long upTo = Math.min(latest, sequence + MAX_VERSIONS_PER_PAGE);
+            List<Change> changes = new ArrayList<>();
+            for (ContentChange change : contentChangeRepository.findVersionsBetween(sequence, upTo)) {
+                List<String> categories = change.getPreviousCategoryName() == null
+                        ? List.of(change.getCategoryName())
+                        : List.of(change.getCategoryName(), change.getPreviousCategoryName());
+                changes.add(new Change(change.getVersion(), change.getBlogId(), categories));
+            }
+            return new Page(epoch, upTo, true, changes);
+        });
+    }
+
+    /**
+     * Starts following from the current position, before other ready listeners load in-memory
+     * state from the database. Anything committed later, this instance's own writes included,
+     * is published again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void start() {
+        if (follower != null) {
+            return;
+        }
+        followed = readOnlyTransaction.execute(status ->
+                contentChangeRepository.findVersion(ContentVersions.GLOBAL).orElse(0L));
+        nextPrune = System.nanoTime();
+        follower = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-follower");
+            thread.setDaemon(true);
+            return thread;
+        });
+        follower.scheduleWithFixedDelay(this::follow, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stop() {
+        if (follower != null) {
+            follower.shutdownNow();
+        }
+    }
+
+    private void follow() {
+        try {
+            Page page = since(followed);
+            if (!page.complete()) {
+                logger.warn("Change feed moved past {} to {}; reloading in-memory state", followed, page.sequence());
+            }
+            if (!page.complete() || !page.changes().isEmpty()) {
+                eventPublisher.publishEvent(new ContentChangesEvent(page.changes(), page.complete()));
+            }
+            followed = page.sequence();
+            if (System.nanoTime() - nextPrune >= 0) {
+                nextPrune = System.nanoTime() + PRUNE_INTERVAL.toNanos();
+                Instant before = Instant.now().minus(retention);
+                transactionTemplate.executeWithoutResult(status -> contentChangeRepository.deleteChangedBefore(before));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not follow the change feed after {}: {}", followed, e.getMessage());
+        }
+    }
+}
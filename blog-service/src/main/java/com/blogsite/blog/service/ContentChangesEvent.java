@@ -0,0 +1,11 @@
+package com.blogsite.blog.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link ChangeFeed} for committed writes read back from the change log, whichever
+ * instance handled them. When {@code complete} is false some changes were missed and listeners
+ * must reload from the database.
+ */
+public record ContentChangesEvent(List<ChangeFeed.Change> changes, boolean complete) {
+}
@@ -0,0 +1,180 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.domain.ContentChange;
+import com.blogsite.blog.repository.ContentChangeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Versions behind the ETags of the public list endpoints: one for the whole corpus and one per
+ * category. They live in the database, so every instance hands out the same tag for the same
+ * content. A write transaction takes the next version just before it commits and logs what it
+ * touched under it for {@link ChangeFeed}. Single blogs are tagged with their persistent
+ * {@code version} instead.
+ *
+ * <p>A response body is read together with its tag through {@link #readGlobal} or
+ * {@link #readCategory}: under InnoDB's default repeatable read one transaction sees one
+ * snapshot, so a lagging replica cannot pair old rows with a newer tag. The bare tags only
+ * answer conditional requests.
+ */
+@Component
+public class ContentVersions {
+
+    static final String GLOBAL = "all";
+    private static final String EPOCH = "epoch";
+    private static final String CATEGORY_SCOPE = "category:";
+
+    private final ContentChangeRepository contentChangeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile String epoch;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ContentVersions(ContentChangeRepository contentChangeRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.contentChangeRepository = contentChangeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * A list response and the tag of the snapshot it was read from.
+     */
+    public record Tagged<T>(String etag, T body) {
+    }
+
+    public String globalTag() {
+        return readOnlyTransaction.execute(status -> globalTagInTransaction());
+    }
+
+    public String categoryTag(String categoryName) {
+        return readOnlyTransaction.execute(status -> categoryTagInTransaction(categoryName));
+    }
+
+    public <T> Tagged<T> readGlobal(Supplier<T> query) {
+        return readOnlyTransaction.execute(status -> new Tagged<>(globalTagInTransaction(), query.get()));
+    }
+
+    public <T> Tagged<T> readCategory(String categoryName, Supplier<T> query) {
+        return readOnlyTransaction.execute(status -> new Tagged<>(categoryTagInTransaction(categoryName), query.get()));
+    }
+
+    /**
+     * Random per database, so tags and feed positions of a recreated database never match old ones.
+     */
+    String epoch() {
+        String current = epoch;
+        if (current == null) {
+            long value = readOnlyTransaction.execute(status -> contentChangeRepository.findVersion(EPOCH).orElse(0L));
+            current = Long.toString(value, 36);
+            epoch = current;
+        }
+        return current;
+    }
+
+    @EventListener
+    public void onBlogChanged(BlogChangedEvent event) {
+        pending().add(event.blog().getId(), event.blog().getCategory().getName(), event.previousCategoryName());
+    }
+
+    /**
+     * Records blogs whose listed figures were rewritten outside an edit, such as by a backfill,
+     * so the tags of lists showing them move. Must be called inside the write transaction.
+     */
+    public void recordRewritten(List<Blog> blogs) {
+        for (Blog blog : blogs) {
+            pending().add(blog.getId(), blog.getCategory().getName(), null);
+        }
+    }
+
+    @EventListener
+    public void onCategoryCreated(CategoryCreatedEvent event) {
+        pending().add(null, event.category().getName(), null);
+    }
+
+    // Read first, so the transaction's snapshot is taken no later than the tag
+    private String globalTagInTransaction() {
+        return tag("all", GLOBAL);
+    }
+
+    private String categoryTagInTransaction(String categoryName) {
+        return tag("c" + Integer.toHexString(categoryName.hashCode()), CATEGORY_SCOPE + categoryName);
+    }
+
+    private String tag(String scope, String versionScope) {
+        long version = contentChangeRepository.findVersion(versionScope).orElse(0L);
+        return "\"" + scope + "-" + epoch() + "-" + version + "\"";
+    }
+
+    private PendingChanges pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Content changes must be published inside a write transaction");
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private record Pending(Long blogId, String categoryName, String previousCategoryName) {
+    }
+
+    /**
+     * The changes of one transaction, written as a single content version when it commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<Pending> changes = new ArrayList<>();
+
+        void add(Long blogId, String categoryName, String previousCategoryName) {
+            changes.add(new Pending(blogId, categoryName, previousCategoryName));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Write the blogs first so the version lock is held only for the few statements below
+            entityManager.flush();
+            contentChangeRepository.incrementGlobalVersion();
+            long version = contentChangeRepository.findVersion(GLOBAL).orElseThrow();
+            Set<String> categories = new TreeSet<>();
+            for (Pending change : changes) {
+                categories.add(change.categoryName());
+                if (change.previousCategoryName() != null) {
+                    categories.add(change.previousCategoryName());
+                }
+            }
+            for (String category : categories) {
+                contentChangeRepository.setVersion(CATEGORY_SCOPE + category, version);
+            }
+            Instant now = Instant.now();
+            for (int i = 0; i < changes.size(); i++) {
+                Pending change = changes.get(i);
+                entityManager.persist(new ContentChange(version, i, change.blogId(), change.categoryName(),
+                        change.previousCategoryName(), now));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ContentVersions.this);
+        }
+    }
+}
@@ -2,13 +2,30 @@ package com.blogsite.blog.web;
 
 import com.blogsite.blog.domain.Blog;
 import com.blogsite.blog.domain.Category;
+import com.blogsite.blog.factory.BlogPageResponse;
+import com.blogsite.blog.factory.BlogSearchHit;
 import com.blogsite.blog.factory.BlogSummaryResponse;
+import com.blogsite.blog.factory.BulkBlogItem;
+import com.blogsite.blog.factory.BulkIngestResponse;
+import com.blogsite.blog.factory.CategoryHistogramResponse;
+import com.blogsite.blog.service.BlogExportService;
+import com.blogsite.blog.service.BlogIngestService;
+import com.blogsite.blog.service.BlogSearchService;
 import com.blogsite.blog.service.BlogService;
+import com.blogsite.blog.service.CategoryRegistry;
+import com.blogsite.blog.service.CategoryRollupService;
+import com.blogsite.blog.service.ContentVersions;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,7 +35,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -28,10 +49,27 @@ import java.util.Map;
 @RequestMapping("/api/v1.0/blogsite")
 public class BlogController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final BlogService blogService;
+    private final BlogExportService blogExportService;
+    private final BlogIngestService blogIngestService;
+    private final BlogSearchService blogSearchService;
+    private final CategoryRollupService categoryRollupService;
+    private final ContentVersions contentVersions;
+    private final MeterRegistry meterRegistry;
 
-    public BlogController(BlogService blogService) {
+    public BlogController(BlogService blogService, BlogExportService blogExportService,
+                          BlogIngestService blogIngestService, BlogSearchService blogSearchService,
+                          CategoryRollupService categoryRollupService, ContentVersions contentVersions,
+                          MeterRegistry meterRegistry) {
         this.blogService = blogService;
+        this.blogExportService = blogExportService;
+        this.blogIngestService = blogIngestService;
+        this.blogSearchService = blogSearchService;
+        this.categoryRollupService = categoryRollupService;
+        this.contentVersions = contentVersions;
+        this.meterRegistry = meterRegistry;
     }
 
     private Long getUserId() {
@@ -69,6 +107,10 @@ public class BlogController {
             String article
     ) {}
 
+    public record BulkAddBlogsRequest(
+            @NotEmpty List<BulkBlogItem> blogs
+    ) {}
+
     public record CreateCategoryRequest(
             @NotBlank @Size(min = 3) String name
     ) {}
@@ -79,9 +121,23 @@ public class BlogController {
         return ResponseEntity.ok(Map.of("id", category.getId(), "name", category.getName()));
     }
 
+    @PostMapping("/category/rollups/rebuild")
+    public ResponseEntity<?> rebuildCategoryRollups() {
+        int rows = categoryRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
+
     @GetMapping("/categories")
-    public ResponseEntity<List<Category>> getAllCategories() {
-        return ResponseEntity.ok(blogService.getAllCategories());
+    public ResponseEntity<byte[]> getAllCategories(WebRequest request) {
+        CategoryRegistry.Snapshot snapshot = blogService.getCategorySnapshot();
+        if (notModified(request, snapshot.etag(), "categories")) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 
     @PostMapping("/user/blogs/add/{blogname}")
@@ -93,23 +149,70 @@ public class BlogController {
         return ResponseEntity.ok(Map.of("id", blog.getId()));
     }
 
+    @PostMapping("/user/blogs/bulk")
+    public ResponseEntity<BulkIngestResponse> addBlogs(@Valid @RequestBody BulkAddBlogsRequest request) {
+        return ResponseEntity.ok(blogIngestService.ingest(getUserId(), getUserName(), request.blogs()));
+    }
+
     @GetMapping("/user/getall")
-    public ResponseEntity<List<Blog>> getAllForUser() {
-        return ResponseEntity.ok(blogService.getBlogsForUser(getUserId()));
+    public ResponseEntity<BlogPageResponse> getAllForUser(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return ResponseEntity.ok(blogService.getBlogPageForUser(getUserId(), cursor, size));
     }
 
     @GetMapping("/blogs/all")
-    public ResponseEntity<List<Blog>> getAllBlogs() {
-        return ResponseEntity.ok(blogService.getAllBlogs());
+    public ResponseEntity<BlogPageResponse> getAllBlogs(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            WebRequest request
+    ) {
+        String etag = contentVersions.globalTag();
+        if (notModified(request, etag, "blog-pages")) {
+            return null;
+        }
+        ContentVersions.Tagged<BlogPageResponse> page = contentVersions.readGlobal(() -> blogService.getBlogPage(cursor, size));
+        return revalidated(page.etag()).body(page.body());
+    }
+
+    @GetMapping("/export/blogs")
+    public ResponseEntity<StreamingResponseBody> exportBlogs(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        // Reserved here so a full house is a 503 rather than a failed 200
+        BlogExportService.Slot slot = blogExportService.reserve();
+        StreamingResponseBody body = out -> {
+            try (slot) {
+                blogExportService.export(category, from, to, out);
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @GetMapping("/blogs/search")
+    public ResponseEntity<List<BlogSearchHit>> searchBlogs(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        // no-store would be added otherwise, which keeps the gateway from caching results
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(blogSearchService.search(query, limit));
     }
 
     @GetMapping("/blogs/{id}")
-    public ResponseEntity<Blog> getBlogById(@PathVariable("id") Long id) {
+    public ResponseEntity<Blog> getBlogById(@PathVariable("id") Long id, WebRequest request) {
+        // Revalidation costs a primary-key lookup of the version only
+        Long version = blogService.getBlogVersion(id).orElse(null);
+        if (version != null && notModified(request, versionTag(version), "blog")) {
+            return null;
+        }
         Blog blog = blogService.getBlogById(id);
         if (blog == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(blog);
+        return revalidated(versionTag(blog.getVersion())).body(blog);
     }
 
     @DeleteMapping("/user/delete/{blogname}")
@@ -121,23 +224,91 @@ public class BlogController {
     @PutMapping("/user/blogs/update/{id}")
     public ResponseEntity<Blog> updateBlog(
             @PathVariable("id") Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateBlogRequest request
     ) {
-        Blog updated = blogService.updateBlog(getUserId(), id, request.blogName(), request.category(), request.article());
-        return ResponseEntity.ok(updated);
+        Long expectedVersion = parseIfMatch(ifMatch, id);
+        Blog updated = blogService.updateBlog(
+                getUserId(), id, expectedVersion, request.blogName(), request.category(), request.article());
+        return ResponseEntity.ok().eTag(versionTag(updated.getVersion())).body(updated);
     }
 
     @GetMapping("/blogs/info/{category}")
-    public ResponseEntity<List<Blog>> getByCategory(@PathVariable("category") String category) {
-        return ResponseEntity.ok(blogService.getByCategory(category));
+    public ResponseEntity<List<Blog>> getByCategory(@PathVariable("category") String category, WebRequest request) {
+        String etag = contentVersions.categoryTag(category);
+        if (notModified(request, etag, "category-blogs")) {
+            return null;
+        }
+        ContentVersions.Tagged<List<Blog>> blogs = contentVersions.readCategory(category, () -> blogService.getByCategory(category));
+        return revalidated(blogs.etag()).body(blogs.body());
     }
 
     @GetMapping("/blogs/get/{category}/{from}/{to}")
     public ResponseEntity<BlogSummaryResponse> getByCategoryAndDuration(
             @PathVariable("category") String category,
             @PathVariable("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @PathVariable("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+            @PathVariable("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(blogService.getByCategoryAndDuration(category, from, to));
+        String etag = contentVersions.categoryTag(category);
+        if (notModified(request, etag, "category-summaries")) {
+            return null;
+        }
+        ContentVersions.Tagged<BlogSummaryResponse> summaries = contentVersions.readCategory(category,
+                () -> blogService.getByCategoryAndDuration(category, from, to));
+        return revalidated(summaries.etag()).body(summaries.body());
+    }
+
+    @GetMapping("/blogs/histogram/{category}/{from}/{to}")
+    public ResponseEntity<CategoryHistogramResponse> getCategoryHistogram(
+            @PathVariable("category") String category,
+            @PathVariable("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @PathVariable("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "granularity", required = false) String granularity,
+            WebRequest request
+    ) {
+        String etag = contentVersions.categoryTag(category);
+        if (notModified(request, etag, "category-histogram")) {
+            return null;
+        }
+        ContentVersions.Tagged<CategoryHistogramResponse> histogram = contentVersions.readCategory(category,
+                () -> categoryRollupService.histogram(category, from, to, granularity));
+        return revalidated(histogram.etag()).body(histogram.body());
+    }
+
+    private static String versionTag(long version) {
+        return "\"v" + version + "\"";
+    }
+
+    // No header or "*" skips the check; a weak or foreign tag can never match, so it conflicts
+    private static Long parseIfMatch(String ifMatch, Long blogId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 3 && tag.startsWith("\"v") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(2, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // not one of ours
+            }
+        }
+        throw new ObjectOptimisticLockingFailureException(Blog.class, blogId);
+    }
+
+    // Conditional requests are lookups in the client's cache: a 304 is a hit, a fresh body a miss
+    private boolean notModified(WebRequest request, String etag, String cache) {
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        boolean notModified = request.checkNotModified(etag);
+        if (conditional) {
+            meterRegistry.counter("cache.gets", "cache", "etag-" + cache, "result", notModified ? "hit" : "miss")
+                    .increment();
+        }
+        return notModified;
+    }
+
+    // Lets clients keep the body but forces a conditional request before each reuse
+    private ResponseEntity.BodyBuilder revalidated(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
     }
 }
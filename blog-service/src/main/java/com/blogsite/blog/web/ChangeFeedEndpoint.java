@@ -0,0 +1,27 @@
+package com.blogsite.blog.web;
+
+import com.blogsite.blog.service.ChangeFeed;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/changes?since=N} on the management port, which the gateway polls to
+ * evict cached responses. Only ids and category names are exposed, all of them public.
+ */
+@Component
+@Endpoint(id = "changes")
+public class ChangeFeedEndpoint {
+
+    private final ChangeFeed changeFeed;
+
+    public ChangeFeedEndpoint(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @ReadOperation
+    public ChangeFeed.Page changes(@Nullable Long since) {
+        return changeFeed.since(since == null ? 0 : since);
+    }
+}
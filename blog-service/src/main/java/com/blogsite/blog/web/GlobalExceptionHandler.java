@@ -1,9 +1,14 @@
 package com.blogsite.blog.web;
 
+import com.blogsite.blog.service.BlogExportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,6 +53,34 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    // If-Match named a stale version, or a concurrent edit committed first
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleConcurrentModification(OptimisticLockingFailureException ex) {
+        logger.warn("Update conflict: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(createErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), "Blog was modified by someone else. Reload and try again."));
+    }
+
+    // No database connection freed up within the pool's connection-timeout
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<?> handleDatabaseUnavailable(Exception ex) {
+        logger.warn("Database unavailable: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is busy. Please try again."));
+    }
+
+    @ExceptionHandler(BlogExportService.ExportsBusyException.class)
+    public ResponseEntity<?> handleExportsBusy(BlogExportService.ExportsBusyException ex) {
+        logger.warn("Export rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many exports are running. Please try again later."));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGenericException(Exception ex) {
         // Log the full stack trace securely, never send to client
@@ -0,0 +1,23 @@
+-- Schema as previously generated by Hibernate ddl-auto. Databases created that way
+-- are baselined at this version and skip this script.
+
+CREATE TABLE categories (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    created_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_categories_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE blogs (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    blog_name   VARCHAR(200) NOT NULL,
+    category_id BIGINT       NOT NULL,
+    article     TEXT         NOT NULL,
+    author_name VARCHAR(100) NOT NULL,
+    author_id   BIGINT       NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_blogs_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,27 @@
+-- Article statistics stored at write time; null until ArticleStatsBackfill reaches the row
+ALTER TABLE blogs
+    ADD COLUMN word_count           INT,
+    ADD COLUMN character_count      INT,
+    ADD COLUMN reading_time_minutes INT,
+    ADD COLUMN snippet              VARCHAR(255);
+
+-- One index per BlogRepository access path
+
+-- findSummaryPage, findSummaryPageAfter
+CREATE INDEX idx_blogs_created_at_id ON blogs (created_at, id);
+
+-- findByAuthorId, findSummaryPageByAuthorId, findSummaryPageByAuthorIdAfter
+CREATE INDEX idx_blogs_author_created_at_id ON blogs (author_id, created_at, id);
+
+-- findByAuthorIdAndBlogName, deleteByAuthorIdAndBlogName
+CREATE INDEX idx_blogs_author_blog_name ON blogs (author_id, blog_name);
+
+-- findByBlogName
+CREATE INDEX idx_blogs_blog_name ON blogs (blog_name);
+
+-- findByCategoryName, findByCategoryNameAndCreatedAtBetween,
+-- findSummariesByCategoryNameAndCreatedAtBetween; categories are resolved through uk_categories_name
+CREATE INDEX idx_blogs_category_created_at_id ON blogs (category_id, created_at, id);
+
+-- findMissingArticleStats
+CREATE INDEX idx_blogs_word_count_id ON blogs (word_count, id);
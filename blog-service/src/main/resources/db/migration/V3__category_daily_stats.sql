@@ -0,0 +1,15 @@
+-- Per-category daily rollup of blogs, kept in step with the blogs table by CategoryRollupService.
+-- Days are the UTC date of created_at, which Hibernate stores in UTC.
+CREATE TABLE category_daily_stats (
+    category_id BIGINT NOT NULL,
+    day         DATE   NOT NULL,
+    post_count  BIGINT NOT NULL,
+    total_words BIGINT NOT NULL,
+    PRIMARY KEY (category_id, day),
+    CONSTRAINT fk_category_daily_stats_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
+
+INSERT INTO category_daily_stats (category_id, day, post_count, total_words)
+SELECT category_id, DATE(created_at), COUNT(*), COALESCE(SUM(word_count), 0)
+FROM blogs
+GROUP BY category_id, DATE(created_at);
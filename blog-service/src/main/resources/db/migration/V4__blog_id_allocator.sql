@@ -0,0 +1,11 @@
+-- Pooled id allocation for blogs (Blog.ID_ALLOCATION_SIZE = 100). Hibernate hands out the block
+-- (next_val - 99 .. next_val) and advances next_val by 100, so seeding with MAX(id) + 100 makes
+-- the first allocated id MAX(id) + 1.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'blogs', COALESCE(MAX(id), 0) + 100 FROM blogs;
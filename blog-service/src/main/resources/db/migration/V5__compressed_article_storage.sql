@@ -0,0 +1,6 @@
+-- Article bodies are now written deflate-compressed by CompressedTextConverter. Existing text is
+-- first converted to utf8mb4, whatever charset the table was created with, so the bytes kept by
+-- the change to MEDIUMBLOB are the UTF-8 the converter reads for uncompressed rows.
+-- ArticleCompressionMigration then rewrites those rows compressed in the background.
+ALTER TABLE blogs MODIFY article MEDIUMTEXT CHARACTER SET utf8mb4 NOT NULL;
+ALTER TABLE blogs MODIFY article MEDIUMBLOB NOT NULL;
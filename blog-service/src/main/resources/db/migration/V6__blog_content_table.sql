@@ -0,0 +1,12 @@
+-- Article bodies move out of blogs so listing, lookup and range queries never read them.
+CREATE TABLE blog_content (
+    blog_id BIGINT     NOT NULL,
+    article MEDIUMBLOB NOT NULL,
+    PRIMARY KEY (blog_id),
+    CONSTRAINT fk_blog_content_blog FOREIGN KEY (blog_id) REFERENCES blogs (id)
+) ENGINE = InnoDB;
+
+INSERT INTO blog_content (blog_id, article)
+SELECT id, article FROM blogs;
+
+ALTER TABLE blogs DROP COLUMN article;
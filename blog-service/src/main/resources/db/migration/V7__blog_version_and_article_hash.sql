@@ -0,0 +1,5 @@
+-- Optimistic locking for edits, and a hash of the body so unchanged articles are not rewritten.
+-- Existing rows start at version 0 and get their hash on the next edit or stats backfill.
+ALTER TABLE blogs
+    ADD COLUMN version      BIGINT     NOT NULL DEFAULT 0,
+    ADD COLUMN article_hash BINARY(32);
@@ -0,0 +1,24 @@
+-- Change log shared by every blog-service instance (see ContentVersions and ChangeFeed).
+-- content_versions holds the counters behind the list ETags: 'all', one 'category:<name>' row per
+-- category, and a random 'epoch' that keeps tags of a recreated database apart. Each write
+-- transaction bumps 'all' just before it commits and records what it touched in content_changes
+-- under the new version, so versions have no gaps and follow commit order.
+CREATE TABLE content_versions (
+    scope   VARCHAR(120) NOT NULL,
+    version BIGINT       NOT NULL,
+    PRIMARY KEY (scope)
+) ENGINE = InnoDB;
+
+INSERT INTO content_versions (scope, version) VALUES ('all', 0);
+INSERT INTO content_versions (scope, version) VALUES ('epoch', FLOOR(RAND() * 2147483647));
+
+CREATE TABLE content_changes (
+    version                BIGINT       NOT NULL,
+    ordinal                INT          NOT NULL,
+    blog_id                BIGINT,
+    category_name          VARCHAR(100) NOT NULL,
+    previous_category_name VARCHAR(100),
+    changed_at             DATETIME(6)  NOT NULL,
+    PRIMARY KEY (version, ordinal),
+    KEY idx_content_changes_changed_at (changed_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,67 @@
+package com.blogsite.blog;
+
+import com.blogsite.blog.service.BlogSearchService;
+import com.blogsite.blog.service.ContentChangesEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole application on {@link EmbeddedMariaDb} with {@link SampleData} loaded. Every subclass
+ * shares one application context, so the startup work (index build, backfills) runs once, before
+ * the sample data exists, and never overlaps a test. The sample data is then announced as a gap
+ * in the change feed, so the category registry and search index reload it as they would after
+ * missing writes. The follower itself is parked, and Hibernate statistics are on for statement
+ * counting.
+ */
+@SpringBootTest(properties = {
+        "blog.change-feed.poll-interval=1h",
+        "blog.storage.compress-existing=false",
+        "management.server.port=0",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Statistics also log a metrics block per session; the counts are read, not logged
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+public abstract class EmbeddedDatabaseTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        EmbeddedMariaDb.register(registry);
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BlogSearchService searchService;
+
+    @BeforeEach
+    void loadSampleData() throws SQLException, InterruptedException {
+        if (SampleData.seed()) {
+            eventPublisher.publishEvent(new ContentChangesEvent(List.of(), false));
+        }
+        awaitSearchIndex();
+    }
+
+    /**
+     * Waits for the background index build, which would otherwise add its queries to a test's.
+     */
+    protected void awaitSearchIndex() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (searchService.isBuilding()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("Search index build did not finish");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.blogsite.blog;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * One throwaway MariaDB server per test JVM, shared by every test that points the application at
+ * it. The service talks to it with the same MySQL driver and dialect it uses in production, and
+ * Flyway creates the schema from scratch. Tests that need a second server, such as a replica,
+ * get one from {@link #secondServer()}.
+ */
+public final class EmbeddedMariaDb {
+
+    private static final String DATABASE = "blog_content";
+    private static final EmbeddedMariaDb SERVER = new EmbeddedMariaDb();
+    private static final EmbeddedMariaDb SECOND_SERVER = new EmbeddedMariaDb();
+
+    private DB db;
+    private int port;
+
+    private EmbeddedMariaDb() {
+    }
+
+    /**
+     * Starts the server if needed and points the datasource at it.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        SERVER.start();
+        registry.add("spring.datasource.url", () -> SERVER.jdbcUrl(DATABASE) + "&rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    /**
+     * A connection to the application's database outside its pool, for inspecting the server.
+     */
+    public static Connection connect() throws SQLException {
+        SERVER.start();
+        return SERVER.connect(DATABASE);
+    }
+
+    /**
+     * The server the application uses, started if needed.
+     */
+    public static EmbeddedMariaDb server() {
+        SERVER.start();
+        return SERVER;
+    }
+
+    /**
+     * Another server, independent of the application's, started if needed.
+     */
+    public static EmbeddedMariaDb secondServer() {
+        SECOND_SERVER.start();
+        return SECOND_SERVER;
+    }
+
+    /**
+     * A URL for {@code database} on this server, created on first connect; append parameters
+     * with {@code &}.
+     */
+    public String jdbcUrl(String database) {
+        return "jdbc:mysql://127.0.0.1:" + port + "/" + database
+                + "?createDatabaseIfNotExist=true&allowPublicKeyRetrieval=true&useSSL=false";
+    }
+
+    public Connection connect(String database) throws SQLException {
+        return DriverManager.getConnection(jdbcUrl(database), "root", "");
+    }
+
+    private synchronized void start() {
+        if (db != null) {
+            return;
+        }
+        try {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0);
+            // mysqld refuses to run as root unless told which account to use
+            if ("root".equals(System.getProperty("user.name"))) {
+                config.addArg("--user=root");
+            }
+            DB started = DB.newEmbeddedDB(config.build());
+            started.start();
+            port = started.getConfiguration().getPort();
+            db = started;
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("Could not start embedded MariaDB", e);
+        }
+    }
+}
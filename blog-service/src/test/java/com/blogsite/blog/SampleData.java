@@ -0,0 +1,160 @@
+package com.blogsite.blog;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Enough blogs in the embedded database for the optimizer to choose the plans it would choose
+ * in production; with a handful of rows every table is scanned. Written once per test JVM,
+ * straight through JDBC.
+ */
+public final class SampleData {
+
+    public static final int CATEGORIES = 40;
+    public static final int BLOGS = 4000;
+    public static final int AUTHORS = 50;
+    public static final int CONTENT_VERSIONS = 1000;
+    public static final Instant NEWEST = Instant.parse("2024-06-30T12:00:00Z");
+
+    private static boolean seeded;
+
+    private SampleData() {
+    }
+
+    public static String categoryName(int index) {
+        return String.format("Sample category number %02d", index);
+    }
+
+    public static String blogName(int index) {
+        return String.format("Sample blog post number %05d", index);
+    }
+
+    public static long authorId(int blogIndex) {
+        return 1000 + blogIndex % AUTHORS;
+    }
+
+    public static Instant createdAt(int blogIndex) {
+        return NEWEST.minus(blogIndex * 4L, ChronoUnit.HOURS);
+    }
+
+    /**
+     * Loads the sample data unless this JVM already did; returns whether it did now.
+     */
+    public static synchronized boolean seed() throws SQLException {
+        if (seeded) {
+            return false;
+        }
+        try (Connection connection = EmbeddedMariaDb.connect()) {
+            connection.setAutoCommit(false);
+            long firstCategoryId = insertCategories(connection);
+            long firstBlogId = nextBlogId(connection);
+            insertBlogs(connection, firstCategoryId, firstBlogId);
+            insertChanges(connection, firstBlogId);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE id_generators SET next_val = (SELECT MAX(id) FROM blogs) + 100 "
+                        + "WHERE sequence_name = 'blogs'");
+                statement.executeUpdate("DELETE FROM category_daily_stats");
+                statement.executeUpdate("INSERT INTO category_daily_stats (category_id, day, post_count, total_words) "
+                        + "SELECT category_id, DATE(created_at), COUNT(*), COALESCE(SUM(word_count), 0) "
+                        + "FROM blogs GROUP BY category_id, DATE(created_at)");
+            }
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE categories, blogs, blog_content, category_daily_stats, "
+                        + "content_versions, content_changes");
+            }
+        }
+        seeded = true;
+        return true;
+    }
+
+    private static long insertCategories(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO categories (name, description, created_at) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < CATEGORIES; i++) {
+                insert.setString(1, categoryName(i));
+                insert.setString(2, null);
+                insert.setTimestamp(3, Timestamp.from(NEWEST));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    // Past every id the running application may hold in its allocated block
+    private static long nextBlogId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT next_val + 1 FROM id_generators WHERE sequence_name = 'blogs'")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static void insertBlogs(Connection connection, long firstCategoryId, long firstBlogId)
+            throws SQLException {
+        byte[] article = "Sample article body ".repeat(60).getBytes(StandardCharsets.UTF_8);
+        try (PreparedStatement blog = connection.prepareStatement(
+                "INSERT INTO blogs (id, blog_name, category_id, author_name, author_id, created_at, word_count, "
+                        + "character_count, reading_time_minutes, snippet, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+             PreparedStatement content = connection.prepareStatement(
+                     "INSERT INTO blog_content (blog_id, article) VALUES (?, ?)")) {
+            for (int i = 0; i < BLOGS; i++) {
+                long id = firstBlogId + i;
+                blog.setLong(1, id);
+                blog.setString(2, blogName(i));
+                blog.setLong(3, firstCategoryId + i % CATEGORIES);
+                blog.setString(4, "author" + authorId(i));
+                blog.setLong(5, authorId(i));
+                blog.setTimestamp(6, Timestamp.from(createdAt(i)));
+                blog.setInt(7, 180);
+                blog.setInt(8, article.length);
+                blog.setInt(9, 1);
+                blog.setString(10, "Sample article body");
+                blog.addBatch();
+                content.setLong(1, id);
+                content.setBytes(2, article);
+                content.addBatch();
+                if ((i + 1) % 500 == 0) {
+                    blog.executeBatch();
+                    content.executeBatch();
+                }
+            }
+            blog.executeBatch();
+            content.executeBatch();
+        }
+    }
+
+    private static void insertChanges(Connection connection, long firstBlogId) throws SQLException {
+        try (PreparedStatement change = connection.prepareStatement(
+                "INSERT INTO content_changes (version, ordinal, blog_id, category_name, changed_at) "
+                        + "VALUES (?, 0, ?, ?, ?)")) {
+            for (int version = 1; version <= CONTENT_VERSIONS; version++) {
+                change.setLong(1, version);
+                change.setLong(2, firstBlogId + version);
+                change.setString(3, categoryName(version % CATEGORIES));
+                change.setTimestamp(4, Timestamp.from(NEWEST.plusSeconds(version)));
+                change.addBatch();
+            }
+            change.executeBatch();
+        }
+        try (PreparedStatement version = connection.prepareStatement(
+                "UPDATE content_versions SET version = ? WHERE scope = 'all'")) {
+            version.setLong(1, CONTENT_VERSIONS);
+            version.executeUpdate();
+        }
+    }
+}
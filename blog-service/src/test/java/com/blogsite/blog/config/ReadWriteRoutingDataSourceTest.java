@@ -0,0 +1,136 @@
+package com.blogsite.blog.config;
+
+import com.blogsite.blog.EmbeddedMariaDb;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two embedded servers, each holding one row that names it. The second server
+ * replicates from nothing, which is what {@code allow-standalone-replicas} is for.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String DATABASE = "routing_test";
+
+    private final List<ReadWriteRoutingDataSource> routers = new ArrayList<>();
+
+    @BeforeAll
+    static void markServers() throws SQLException {
+        mark(EmbeddedMariaDb.server(), "primary");
+        mark(EmbeddedMariaDb.secondServer(), "replica");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+        routers.forEach(ReadWriteRoutingDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws SQLException {
+        ReadWriteRoutingDataSource routing = router(true, Duration.ofSeconds(10));
+
+        assertThat(server(routing, false)).isEqualTo("primary");
+        assertThat(server(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void aWriteKeepsThatUserOnThePrimaryForTheWindow() throws SQLException, InterruptedException {
+        ReadWriteRoutingDataSource routing = router(true, Duration.ofMillis(500));
+
+        signIn("7");
+        server(routing, false);
+        assertThat(server(routing, true)).isEqualTo("primary");
+        signIn("8");
+        assertThat(server(routing, true)).isEqualTo("replica");
+
+        Thread.sleep(600);
+        signIn("7");
+        assertThat(server(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void aStandaloneReplicaIsNotUsedUnlessAllowed() throws SQLException {
+        ReadWriteRoutingDataSource routing = router(false, Duration.ofSeconds(10));
+
+        assertThat(server(routing, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaDies() throws SQLException {
+        HikariDataSource replica = pool(EmbeddedMariaDb.secondServer());
+        ReadWriteRoutingDataSource routing = router(replica, true, Duration.ofSeconds(10));
+        assertThat(server(routing, true)).isEqualTo("replica");
+
+        replica.close();
+        assertThat(server(routing, true)).isEqualTo("primary");
+        // Taken out of rotation by the failed connect, before the next lag check
+        assertThat(server(routing, true)).isEqualTo("primary");
+    }
+
+    private ReadWriteRoutingDataSource router(boolean allowStandalone, Duration readYourWritesWindow) {
+        return router(pool(EmbeddedMariaDb.secondServer()), allowStandalone, readYourWritesWindow);
+    }
+
+    private ReadWriteRoutingDataSource router(HikariDataSource replica, boolean allowStandalone,
+                                              Duration readYourWritesWindow) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(pool(EmbeddedMariaDb.server()),
+                List.of(replica), Duration.ofSeconds(5), allowStandalone, new ReadYourWrites(readYourWritesWindow));
+        routers.add(routing);
+        routing.checkReplicas();
+        return routing;
+    }
+
+    private static HikariDataSource pool(EmbeddedMariaDb server) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(server.jdbcUrl(DATABASE));
+        pool.setUsername("root");
+        pool.setPassword("");
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(1000);
+        return pool;
+    }
+
+    // Which server a connection taken in a transaction of the given kind ends up on
+    private static String server(ReadWriteRoutingDataSource routing, boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try (Connection connection = routing.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT name FROM server_marker")) {
+            rows.next();
+            return rows.getString(1);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static void signIn(String userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private static void mark(EmbeddedMariaDb server, String name) throws SQLException {
+        try (Connection connection = server.connect(DATABASE);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS server_marker (name VARCHAR(20) NOT NULL)");
+            statement.execute("DELETE FROM server_marker");
+            statement.execute("INSERT INTO server_marker (name) VALUES ('" + name + "')");
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.blogsite.blog.repository;
+
+import com.blogsite.blog.EmbeddedDatabaseTest;
+import com.blogsite.blog.EmbeddedMariaDb;
+import com.blogsite.blog.SampleData;
+import com.blogsite.blog.domain.Blog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query against the embedded MariaDB with the sample data loaded, captures
+ * the SQL Hibernate sent from the server's general log, and EXPLAINs it. A table read with
+ * {@code type=ALL} fails the test unless the query is a deliberate full scan. The upserts
+ * ({@code adjust}, {@code setVersion}) insert literal values and have no plan to check.
+ */
+class RepositoryQueryPlanTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private BlogContentRepository blogContentRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryDailyStatsRepository dailyStatsRepository;
+
+    @Autowired
+    private ContentChangeRepository contentChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Connection inspector;
+    private final List<String> fullScans = new ArrayList<>();
+
+    @BeforeEach
+    void startCapturing() throws SQLException {
+        inspector = EmbeddedMariaDb.connect();
+        try (Statement statement = inspector.createStatement()) {
+            statement.execute("SET GLOBAL log_output = 'TABLE'");
+            statement.execute("SET GLOBAL general_log = 1");
+        }
+    }
+
+    @AfterEach
+    void stopCapturing() throws SQLException {
+        try (Statement statement = inspector.createStatement()) {
+            statement.execute("SET GLOBAL general_log = 0");
+        }
+        inspector.close();
+    }
+
+    @Test
+    void blogQueriesUseIndexes() {
+        Blog blog = blogRepository.findByBlogName(SampleData.blogName(10)).orElseThrow();
+        String category = blog.getCategory().getName();
+        Instant from = SampleData.createdAt(400);
+        Instant to = SampleData.createdAt(200);
+
+        explain("findById", () -> blogRepository.findById(blog.getId()));
+        explain("findAllById", () -> blogRepository.findAllById(List.of(blog.getId(), blog.getId() + 1)));
+        explain("findByAuthorId", () -> blogRepository.findByAuthorId(blog.getAuthorId()));
+        explain("findByAuthorIdAndBlogName",
+                () -> blogRepository.findByAuthorIdAndBlogName(blog.getAuthorId(), blog.getBlogName()));
+        explain("findByBlogName", () -> blogRepository.findByBlogName(blog.getBlogName()));
+        explain("findVersionById", () -> blogRepository.findVersionById(blog.getId()));
+        explain("deleteByAuthorIdAndBlogName",
+                () -> blogRepository.deleteByAuthorIdAndBlogName(blog.getAuthorId(), "No such blog name here"));
+        explain("findByCategoryName", () -> blogRepository.findByCategoryName(category));
+        explain("findByCategoryNameAndCreatedAtBetween",
+                () -> blogRepository.findByCategoryNameAndCreatedAtBetween(category, from, to));
+        explain("findSummariesByCategoryNameAndCreatedAtBetween",
+                () -> blogRepository.findSummariesByCategoryNameAndCreatedAtBetween(category, from, to));
+        explain("findMissingArticleStats",
+                () -> blogRepository.findMissingArticleStats(0L, PageRequest.of(0, 200)));
+        explain("fillMissingArticleStats",
+                () -> blogRepository.fillMissingArticleStats(blog.getId(), 1, 1, 1, "snippet", null));
+        explain("findSummaryPage", () -> blogRepository.findSummaryPage(PageRequest.of(0, 21)));
+        explain("findSummaryPageAfter",
+                () -> blogRepository.findSummaryPageAfter(blog.getCreatedAt(), blog.getId(), PageRequest.of(0, 21)));
+        explain("findSummaryPageByAuthorId",
+                () -> blogRepository.findSummaryPageByAuthorId(blog.getAuthorId(), PageRequest.of(0, 21)));
+        explain("findSummaryPageByAuthorIdAfter", () -> blogRepository.findSummaryPageByAuthorIdAfter(
+                blog.getAuthorId(), blog.getCreatedAt(), blog.getId(), PageRequest.of(0, 21)));
+        explainFullScan("findAll", "lists every blog", () -> blogRepository.findAll());
+        explainFullScan("count", "counts every blog", () -> blogRepository.count());
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    void contentQueriesUseIndexes() {
+        Blog blog = blogRepository.findByBlogName(SampleData.blogName(10)).orElseThrow();
+
+        explain("findById", () -> blogContentRepository.findById(blog.getId()));
+        explain("attachArticles", () -> blogContentRepository.attachArticles(List.of(blog)));
+        explain("deleteByBlogId", () -> blogContentRepository.deleteByBlogId(blog.getId()));
+        explain("findUncompressedArticles", () -> blogContentRepository.findUncompressedArticles(0L, 100));
+        explain("replaceStoredArticle",
+                () -> blogContentRepository.replaceStoredArticle(blog.getId(), new byte[]{1}, new byte[]{2}));
+        explain("streamForExport by category", () -> drain(
+                blogContentRepository.streamForExport(blog.getCategory().getName(), null, null)));
+        explainFullScan("streamForExport", "exports every blog",
+                () -> drain(blogContentRepository.streamForExport(null, null, null)));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    void categoryAndRollupQueriesUseIndexes() {
+        Long categoryId = categoryRepository.findByName(SampleData.categoryName(3)).orElseThrow().getId();
+        LocalDate to = LocalDate.ofInstant(SampleData.NEWEST, ZoneOffset.UTC);
+
+        explain("findByName", () -> categoryRepository.findByName(SampleData.categoryName(3)));
+        explain("existsByName", () -> categoryRepository.existsByName(SampleData.categoryName(3)));
+        explain("findByCategoryIdAndDayBetweenOrderByDay",
+                () -> dailyStatsRepository.findByCategoryIdAndDayBetweenOrderByDay(categoryId, to.minusDays(90), to));
+        explainFullScan("CategoryRepository.findAll", "CategoryRegistry loads every category",
+                () -> categoryRepository.findAll());
+        explainFullScan("rebuildFromBlogs", "regenerates the rollup from every blog", () -> {
+            dailyStatsRepository.deleteAllRows();
+            dailyStatsRepository.rebuildFromBlogs();
+        });
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    void changeLogQueriesUseIndexes() {
+        Instant changedAt = SampleData.NEWEST.plus(100, ChronoUnit.SECONDS);
+
+        explain("findVersion", () -> contentChangeRepository.findVersion("all"));
+        explain("incrementGlobalVersion", () -> contentChangeRepository.incrementGlobalVersion());
+        explain("findVersionsBetween", () -> contentChangeRepository.findVersionsBetween(500, 1000));
+        explain("findOldestVersion", () -> contentChangeRepository.findOldestVersion());
+        explain("deleteChangedBefore", () -> contentChangeRepository.deleteChangedBefore(changedAt));
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    private static void drain(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> {
+            });
+        }
+    }
+
+    private void explain(String query, Runnable call) {
+        explain(query, call, true);
+    }
+
+    private void explainFullScan(String query, String reason, Runnable call) {
+        // Still EXPLAINed, so a query that no longer parses fails here too
+        explain(query + " (" + reason + ")", call, false);
+    }
+
+    /**
+     * Runs {@code call} in a transaction that is rolled back, then EXPLAINs every data statement
+     * it sent and records those that read a whole table.
+     */
+    private void explain(String query, Runnable call, boolean rejectFullScans) {
+        try {
+            try (Statement statement = inspector.createStatement()) {
+                statement.execute("TRUNCATE mysql.general_log");
+            }
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> {
+                call.run();
+                status.setRollbackOnly();
+            });
+            List<String> statements = capturedStatements();
+            assertThat(statements).as("statements sent by %s", query).isNotEmpty();
+            for (String sql : statements) {
+                for (String table : tablesReadInFull(sql)) {
+                    if (rejectFullScans) {
+                        fullScans.add(query + " reads all of " + table + ": " + sql);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not explain " + query, e);
+        }
+    }
+
+    private List<String> capturedStatements() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement statement = inspector.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT argument FROM mysql.general_log "
+                     + "WHERE command_type = 'Query' AND thread_id <> CONNECTION_ID() ORDER BY event_time")) {
+            while (rows.next()) {
+                String sql = rows.getString(1).trim();
+                if (isDataStatement(sql)) {
+                    statements.add(sql);
+                }
+            }
+        }
+        return statements;
+    }
+
+    // Leaves out driver bookkeeping and inserts of literal values, which read nothing
+    private static boolean isDataStatement(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        if (lower.contains("@@") || lower.contains("general_log")) {
+            return false;
+        }
+        if (lower.startsWith("insert")) {
+            return lower.contains(" select ");
+        }
+        return lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete");
+    }
+
+    private List<String> tablesReadInFull(String sql) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = inspector.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            while (plan.next()) {
+                if ("ALL".equals(plan.getString("type"))) {
+                    tables.add(plan.getString("table"));
+                }
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,52 @@
+package com.blogsite.blog.service;
+
+import com.blogsite.blog.EmbeddedDatabaseTest;
+import com.blogsite.blog.repository.BlogRepository;
+import com.blogsite.blog.search.BlogSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rebuild that follows a change-feed gap: it must not block the follower, and it must not
+ * keep postings for blogs that are gone.
+ */
+class BlogSearchServiceTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private BlogSearchService searchService;
+
+    @Autowired
+    private BlogSearchIndex searchIndex;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void feedGapRebuildDropsBlogsMissingFromTheSnapshot() throws InterruptedException {
+        // Stands in for a blog deleted by another instance while this one missed the feed
+        searchIndex.index(Long.MAX_VALUE, "Phantom blog about quokkas");
+        assertThat(searchIndex.search("quokkas", 10)).isNotEmpty();
+
+        eventPublisher.publishEvent(new ContentChangesEvent(List.of(), false));
+        awaitSearchIndex();
+
+        assertThat(searchIndex.search("quokkas", 10)).isEmpty();
+        assertThat((long) searchIndex.size()).isEqualTo(blogRepository.count());
+    }
+
+    @Test
+    void feedGapRebuildRunsOnTheBuildThread() throws InterruptedException {
+        eventPublisher.publishEvent(new ContentChangesEvent(List.of(), false));
+        // Queued rather than run by the publishing thread
+        assertThat(searchService.isBuilding()).isTrue();
+        awaitSearchIndex();
+    }
+}
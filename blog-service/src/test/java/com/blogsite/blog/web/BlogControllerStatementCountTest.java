@@ -0,0 +1,267 @@
+package com.blogsite.blog.web;
+
+import com.blogsite.blog.EmbeddedDatabaseTest;
+import com.blogsite.blog.SampleData;
+import com.blogsite.blog.domain.Blog;
+import com.blogsite.blog.repository.BlogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of JDBC statements Hibernate prepares for each {@link BlogController} endpoint,
+ * so an added lazy load or per-row query shows up as a failing count rather than in production.
+ * Counts are for a warm instance: the content epoch is cached and a block of blog ids is already
+ * allocated.
+ */
+class BlogControllerStatementCountTest extends EmbeddedDatabaseTest {
+
+    private static final String API = "/api/v1.0/blogsite";
+    private static final AtomicInteger NAMES = new AtomicInteger();
+    private static boolean warmedUp;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void warmUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!warmedUp) {
+            addBlog("statement count warm up");
+            mockMvc.perform(get(API + "/blogs/all")).andExpect(status().isOk());
+            warmedUp = true;
+        }
+    }
+
+    @Test
+    void categories() throws Exception {
+        // Served from CategoryRegistry's snapshot
+        assertStatements(0, get(API + "/categories"));
+    }
+
+    @Test
+    void createCategory() throws Exception {
+        // Name check, insert, the content version (increment, read, category scope, change row),
+        // then the stored copy for the registry
+        assertStatements(7, asAdmin(post(API + "/category/create"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "Statement count category " + NAMES.incrementAndGet()))));
+    }
+
+    @Test
+    void rebuildCategoryRollups() throws Exception {
+        assertStatements(2, asAdmin(post(API + "/category/rollups/rebuild")));
+    }
+
+    @Test
+    void addBlog() throws Exception {
+        // Insert blog and content, rollup upsert, then the content version
+        assertStatements(7, asUser(post(API + "/user/blogs/add/" + blogName("add")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("category", SampleData.categoryName(1), "article", article("add")))));
+    }
+
+    @Test
+    void addBlogs() throws Exception {
+        List<Map<String, String>> blogs = List.of(
+                Map.of("blogName", blogName("bulk"), "category", SampleData.categoryName(2), "article", article("bulk")),
+                Map.of("blogName", blogName("bulk"), "category", SampleData.categoryName(3), "article", article("bulk")),
+                Map.of("blogName", blogName("bulk"), "category", SampleData.categoryName(2), "article", article("bulk")));
+        // One batched insert per table and one rollup upsert per category and day, whatever the item count
+        assertStatements(9, asUser(post(API + "/user/blogs/bulk"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("blogs", blogs))));
+    }
+
+    @Test
+    void getAllForUser() throws Exception {
+        assertStatements(1, get(API + "/user/getall")
+                .header("X-User-Id", String.valueOf(SampleData.authorId(0))));
+    }
+
+    @Test
+    void getAllBlogs() throws Exception {
+        // Tag check, then tag and page in one transaction
+        assertStatements(3, get(API + "/blogs/all"));
+        assertStatements(3, get(API + "/blogs/all").param("cursor", nextCursor()));
+    }
+
+    @Test
+    void getAllBlogsNotModified() throws Exception {
+        String etag = mockMvc.perform(get(API + "/blogs/all")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertStatements(1, get(API + "/blogs/all").header(HttpHeaders.IF_NONE_MATCH, etag));
+    }
+
+    @Test
+    void exportBlogs() throws Exception {
+        statistics.clear();
+        MvcResult started = mockMvc.perform(asAdmin(get(API + "/export/blogs"))
+                        .param("category", SampleData.categoryName(4)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        // One streamed query, whatever the row count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void searchBlogs() throws Exception {
+        addBlog("zanzibar");
+        // Blogs, then their bodies for the snippets
+        assertStatements(2, get(API + "/blogs/search").param("q", "zanzibar"));
+    }
+
+    @Test
+    void getBlogById() throws Exception {
+        Blog blog = sampleBlog(20);
+        // Version for revalidation, blog with its category, body
+        assertStatements(3, get(API + "/blogs/" + blog.getId()));
+    }
+
+    @Test
+    void getBlogByIdNotModified() throws Exception {
+        Blog blog = sampleBlog(20);
+        assertStatements(1, get(API + "/blogs/" + blog.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v" + blog.getVersion() + "\""));
+    }
+
+    @Test
+    void updateBlog() throws Exception {
+        Blog blog = addBlog("update");
+        // Blog, body, update, then the content version; the rollup is unchanged for a rename
+        assertStatements(7, asUser(put(API + "/user/blogs/update/" + blog.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("blogName", blogName("renamed")))));
+    }
+
+    @Test
+    void updateBlogUnchanged() throws Exception {
+        Blog blog = addBlog("unchanged");
+        // Blog and body only: nothing is written and no content version is taken
+        assertStatements(2, asUser(put(API + "/user/blogs/update/" + blog.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("blogName", blog.getBlogName()))));
+    }
+
+    @Test
+    void updateBlogSameArticle() throws Exception {
+        Blog blog = addBlog("resent");
+        // Blog only: the resent body matches the stored hash, so it is not loaded
+        assertStatements(1, asUser(put(API + "/user/blogs/update/" + blog.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("article", article("resent")))));
+    }
+
+    @Test
+    void deleteBlog() throws Exception {
+        Blog blog = addBlog("delete");
+        // Blog, both deletes, rollup upsert, then the content version
+        assertStatements(8, asUser(delete(API + "/user/delete/" + blog.getBlogName())), 204);
+    }
+
+    @Test
+    void getByCategory() throws Exception {
+        // Tag check, then tag, blogs and their bodies in one transaction
+        assertStatements(4, get(API + "/blogs/info/" + SampleData.categoryName(5)));
+    }
+
+    @Test
+    void getByCategoryAndDuration() throws Exception {
+        assertStatements(3, get(API + "/blogs/get/" + SampleData.categoryName(5) + "/2024-01-01/2024-06-30"));
+    }
+
+    @Test
+    void getCategoryHistogram() throws Exception {
+        // Tag check, then tag and rollup rows; the category comes from the registry
+        assertStatements(3, get(API + "/blogs/histogram/" + SampleData.categoryName(5) + "/2024-01-01/2024-06-30")
+                .param("granularity", "week"));
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        assertStatements(expected, request, -1);
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request, int expectedStatus)
+            throws Exception {
+        statistics.clear();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        int status = result.getResponse().getStatus();
+        if (expectedStatus < 0) {
+            assertThat(status).as(result.getResponse().getContentAsString()).isBetween(200, 304);
+        } else {
+            assertThat(status).isEqualTo(expectedStatus);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+    }
+
+    private String nextCursor() throws Exception {
+        String body = mockMvc.perform(get(API + "/blogs/all")).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("nextCursor").asText();
+    }
+
+    private Blog sampleBlog(int index) {
+        return blogRepository.findByBlogName(SampleData.blogName(index)).orElseThrow();
+    }
+
+    private Blog addBlog(String word) throws Exception {
+        String name = blogName(word);
+        mockMvc.perform(asUser(post(API + "/user/blogs/add/" + name))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("category", SampleData.categoryName(1), "article", article(word)))))
+                .andExpect(status().isOk());
+        return blogRepository.findByBlogName(name).orElseThrow();
+    }
+
+    private static String blogName(String word) {
+        return "Statement count blog " + word + " " + NAMES.incrementAndGet();
+    }
+
+    private static String article(String word) {
+        return (word + " sample words for the statement count test ").repeat(130);
+    }
+
+    private static MockHttpServletRequestBuilder asUser(MockHttpServletRequestBuilder request) {
+        return request.header("X-User-Id", "7").header("X-User-Name", "counter").header("X-User-Roles", "USER");
+    }
+
+    private static MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) {
+        return request.header("X-User-Id", "1").header("X-User-Name", "admin").header("X-User-Roles", "ADMIN");
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+}
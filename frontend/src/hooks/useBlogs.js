@@ -3,7 +3,8 @@ import { searchBlogsRequest, getAllBlogsRequest } from "../services/blogApi.js";
 import { handleError } from "../lib/errorHandler.js";
 
 /**
- * Custom hook to manage blog listing, filtering, and search logic
+ * Custom hook to manage blog listing, filtering, and search logic.
+ * The unfiltered list is read a page at a time; loadMore follows nextCursor.
  */
 let allBlogsCache = null;
 let allBlogsPromise = null;
@@ -15,7 +16,9 @@ export function invalidateBlogsCache() {
 
 export function useBlogs() {
     const [blogs, setBlogs] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
     const [loading, setLoading] = useState(false);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [filters, setFilters] = useState({
         category: "",
         fromDate: "",
@@ -31,23 +34,30 @@ export function useBlogs() {
         setLoading(true);
         try {
             if (!forceRefresh && allBlogsCache) {
-                setBlogs(allBlogsCache);
+                setBlogs(allBlogsCache.blogs);
+                setNextCursor(allBlogsCache.nextCursor);
                 return;
             }
 
             if (!forceRefresh && allBlogsPromise) {
-                const blogs = await allBlogsPromise;
-                setBlogs(blogs);
+                const page = await allBlogsPromise;
+                setBlogs(page.blogs);
+                setNextCursor(page.nextCursor);
                 return;
             }
 
-            allBlogsPromise = getAllBlogsRequest();
-            const blogs = await allBlogsPromise;
-            allBlogsCache = blogs;
-            setBlogs(blogs);
+            allBlogsPromise = getAllBlogsRequest().then((page) => ({
+                blogs: page.blogs,
+                nextCursor: page.nextCursor || null,
+            }));
+            const page = await allBlogsPromise;
+            allBlogsCache = page;
+            setBlogs(page.blogs);
+            setNextCursor(page.nextCursor);
         } catch (err) {
             handleError(err, "Failed to load blogs");
             setBlogs([]);
+            setNextCursor(null);
         } finally {
             allBlogsPromise = null;
             setLoading(false);
@@ -60,14 +70,35 @@ export function useBlogs() {
             const data = await searchBlogsRequest({ category, from, to });
             const blogList = data.blogs || data || [];
             setBlogs(blogList);
+            setNextCursor(null);
         } catch (err) {
             handleError(err, "Failed to search blogs");
             setBlogs([]);
+            setNextCursor(null);
         } finally {
             setLoading(false);
         }
     };
 
+    const loadMore = async () => {
+        if (!nextCursor || loadingMore) return;
+        setLoadingMore(true);
+        try {
+            const page = await getAllBlogsRequest({ cursor: nextCursor });
+            const more = {
+                blogs: [...blogs, ...page.blogs],
+                nextCursor: page.nextCursor || null,
+            };
+            allBlogsCache = more;
+            setBlogs(more.blogs);
+            setNextCursor(more.nextCursor);
+        } catch (err) {
+            handleError(err, "Failed to load more blogs");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleSearch = () => {
         if (filters.category) {
             loadBlogs(
@@ -99,6 +130,9 @@ export function useBlogs() {
     return {
         blogs,
         loading,
+        hasMore: nextCursor !== null,
+        loadingMore,
+        loadMore,
         filters,
         updateFilters,
         handleSearch,
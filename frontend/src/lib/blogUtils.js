@@ -25,6 +25,7 @@ export function formatDate(dateString, format = "short") {
  * Get category display name or fallback
  */
 export function getCategoryName(blog) {
+    if (typeof blog?.category === "string") return blog.category;
     return blog?.category?.name || "Uncategorized";
 }
 
@@ -73,6 +73,7 @@ export default function EditBlogPage() {
         try {
             await updateBlogRequest({
                 id: parseInt(blogId, 10),
+                version: blog?.version,
                 title: data.title,
                 category: data.category,
                 article: data.article,
@@ -80,6 +81,10 @@ export default function EditBlogPage() {
             toast.success("Blog updated successfully!");
             navigate(`/home/blog/${blogId}`);
         } catch (err) {
+            if (err.response?.status === 412) {
+                toast.error("This blog was changed elsewhere. Reload it before saving again.");
+                return;
+            }
             toast.error(err.message || "Failed to update blog");
         }
     };
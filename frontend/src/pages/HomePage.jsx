@@ -7,12 +7,22 @@ import SearchFilters from "../components/SearchFilters.jsx";
 import BlogGrid from "../components/BlogGrid.jsx";
 import CreateCategoryModal from "../components/CreateCategoryModal.jsx";
 import Header from "../components/Header.jsx";
+import { Button } from "../components/ui/button.jsx";
 import { useAuth } from "../context/useAuth.js";
 
 export default function HomePage() {
     const navigate = useNavigate();
     const auth = useAuth();
-    const { blogs, loading, filters, updateFilters, handleSearch } = useBlogs();
+    const {
+        blogs,
+        loading,
+        hasMore,
+        loadingMore,
+        loadMore,
+        filters,
+        updateFilters,
+        handleSearch,
+    } = useBlogs();
 
     const {
         categoryNames,
@@ -60,6 +70,18 @@ export default function HomePage() {
                     />
 
                     <BlogGrid blogs={blogs} loading={loading} />
+
+                    {!loading && hasMore && (
+                        <div className="flex justify-center">
+                            <Button
+                                variant="outline"
+                                onClick={loadMore}
+                                disabled={loadingMore}
+                            >
+                                {loadingMore ? "Loading..." : "Load more"}
+                            </Button>
+                        </div>
+                    )}
                 </div>
             </main>
 
@@ -9,10 +9,14 @@ export async function createBlogRequest({ title, category, article }) {
     return response.data;
 }
 
-export async function updateBlogRequest({ id, title, category, article }) {
+// Passing the version the user started from makes the server reject the edit (412)
+// if someone else saved in between, instead of silently overwriting their changes.
+export async function updateBlogRequest({ id, version, title, category, article }) {
+    const headers = version != null ? { "If-Match": `"v${version}"` } : undefined;
     const response = await apiClient.put(
         `${API_PREFIX}/user/blogs/update/${id}`,
         { blogName: title, category, article },
+        { headers },
     );
     return response.data;
 }
@@ -33,8 +37,10 @@ export async function searchBlogsRequest({ category, from, to }) {
     return response.data;
 }
 
-export async function getAllBlogsRequest() {
-    const response = await apiClient.get(`${API_PREFIX}/blogs/all`);
+export async function getAllBlogsRequest({ cursor, size } = {}) {
+    const response = await apiClient.get(`${API_PREFIX}/blogs/all`, {
+        params: { cursor, size },
+    });
     return response.data;
 }
 
@@ -0,0 +1,33 @@
+package com.blogsite.loadtest;
+
+import java.util.Random;
+
+/**
+ * English-like article text, so word counting, snippets and compression see realistic input.
+ */
+final class Articles {
+
+    private static final String[] WORDS = (
+            "the of and to in is that for it as with was on be by this are or at from have an not "
+            + "which but they their can more one all there when would about what so if has its "
+            + "small habits compound over time and most people underestimate how much a single "
+            + "consistent practice changes the shape of an ordinary week writing code every "
+            + "morning reading before bed walking after lunch these routines look trivial until "
+            + "you measure them against a year of results travel teaches patience in a way few "
+            + "other experiences can because plans fail trains are late and the only useful "
+            + "response is to adapt quickly while keeping a sense of humour").split(" ");
+
+    private Articles() {
+    }
+
+    static String article(int words, Random random) {
+        StringBuilder text = new StringBuilder(words * 6);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 80 == 0 ? "\n\n" : " ");
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
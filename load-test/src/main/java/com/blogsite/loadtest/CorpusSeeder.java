@@ -0,0 +1,114 @@
+package com.blogsite.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the synthetic corpus through the gateway: registers users, then imports their blogs
+ * with the bulk endpoint, spread round-robin over users and the seeded categories.
+ */
+final class CorpusSeeder {
+
+    private static final int BULK_CHUNK = 100;
+
+    private final LoadClient client;
+    private final LoadTestOptions options;
+
+    CorpusSeeder(LoadClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    record Corpus(List<SeedUser> users, List<String> categories) {
+    }
+
+    Corpus seed() throws Exception {
+        List<SeedUser> users = new ArrayList<>();
+        for (int i = 0; i < options.users(); i++) {
+            users.add(new SeedUser("loadtest" + i, "LoadTest" + i + "pw"));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(8, users.size()));
+        try {
+            List<Session> sessions = all(pool, users.stream()
+                    .map(user -> (Callable<Session>) () -> register(user)).toList());
+            List<String> categories = categories(sessions.get(0));
+            all(pool, sessions.stream()
+                    .map(session -> (Callable<Session>) () -> importBlogs(session, users.indexOf(session.user()), categories))
+                    .toList());
+            return new Corpus(users, categories);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Session register(SeedUser user) throws IOException, InterruptedException {
+        client.post("/user/register", Map.of(
+                "username", user.username(),
+                "email", user.username() + "@loadtest.com",
+                "password", user.password()), null, null).expectOk("Registering " + user.username());
+        Session session = new Session(user);
+        session.loginForSetup(client).expectOk("Logging in " + user.username());
+        return session;
+    }
+
+    private List<String> categories(Session session) throws IOException, InterruptedException {
+        List<String> names = new ArrayList<>();
+        for (JsonNode category : client.get("/categories", session.accessToken()).expectOk("Listing categories").json()) {
+            names.add(category.path("name").asText());
+        }
+        if (names.isEmpty()) {
+            throw new IllegalStateException("blog-service has no categories to post into");
+        }
+        return names;
+    }
+
+    private Session importBlogs(Session session, int userIndex, List<String> categories)
+            throws IOException, InterruptedException {
+        Random random = new Random(options.seed() + userIndex);
+        List<Map<String, String>> chunk = new ArrayList<>(BULK_CHUNK);
+        for (int n = userIndex; n < options.blogs(); n += options.users()) {
+            chunk.add(Map.of(
+                    "blogName", "Load test article number " + n,
+                    "category", categories.get(n % categories.size()),
+                    "article", Articles.article(options.articleWords(), random)));
+            if (chunk.size() == BULK_CHUNK) {
+                importChunk(session, chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(session, chunk);
+        }
+        return session;
+    }
+
+    private void importChunk(Session session, List<Map<String, String>> chunk) throws IOException, InterruptedException {
+        JsonNode response = client.post("/user/blogs/bulk", Map.of("blogs", chunk), session.accessToken(), null)
+                .expectOk("Importing blogs for " + session.user().username()).json();
+        if (response.path("failedCount").asInt() > 0) {
+            throw new IllegalStateException("Bulk import rejected blogs: " + response.path("failed"));
+        }
+        for (JsonNode inserted : response.path("inserted")) {
+            session.user().addBlog(inserted.path("id").asLong());
+        }
+        chunk.clear();
+    }
+
+    private static <T> List<T> all(ExecutorService pool, List<Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : pool.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
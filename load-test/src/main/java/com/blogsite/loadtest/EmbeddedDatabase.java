@@ -0,0 +1,42 @@
+package com.blogsite.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * A throwaway MariaDB server on a free port. The services talk to it with the same MySQL driver
+ * and dialect they use against MySQL, and Flyway creates both schemas from scratch.
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    private final DB db;
+    private final int port;
+
+    private EmbeddedDatabase(DB db, int port) {
+        this.db = db;
+        this.port = port;
+    }
+
+    static EmbeddedDatabase start() throws ManagedProcessException {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        // mysqld refuses to run as root unless told which account to use
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        return new EmbeddedDatabase(db, db.getConfiguration().getPort());
+    }
+
+    String jdbcUrl(String database, String parameters) {
+        return "jdbc:mysql://127.0.0.1:" + port + "/" + database
+                + "?createDatabaseIfNotExist=true&allowPublicKeyRetrieval=true&useSSL=false" + parameters;
+    }
+
+    @Override
+    public void close() throws ManagedProcessException {
+        db.stop();
+    }
+}
@@ -0,0 +1,110 @@
+package com.blogsite.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Sends JSON requests to the gateway the way the frontend does: bearer access token, refresh
+ * token as a cookie. Response bodies stay as bytes unless a caller needs to read them.
+ */
+final class LoadClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String API = "/api/v1.0/blogsite";
+
+    record Response(int status, byte[] body, HttpResponse<byte[]> raw) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return JSON.readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Optional<String> refreshCookie() {
+            return raw.headers().allValues("Set-Cookie").stream()
+                    .filter(cookie -> cookie.startsWith("refreshToken="))
+                    .map(cookie -> cookie.substring(0, cookie.indexOf(';') < 0 ? cookie.length() : cookie.indexOf(';')))
+                    .findFirst();
+        }
+
+        Optional<Duration> retryAfter() {
+            return raw.headers().firstValue("Retry-After").flatMap(value -> {
+                try {
+                    return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+                } catch (NumberFormatException e) {
+                    // An HTTP date; none of the services send one
+                    return Optional.empty();
+                }
+            });
+        }
+
+        Response expectOk(String what) {
+            if (!ok()) {
+                throw new IllegalStateException(what + " failed with " + status + ": " + new String(body));
+            }
+            return this;
+        }
+    }
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI base;
+
+    LoadClient(URI gatewayUri) {
+        this.base = gatewayUri.resolve(API);
+    }
+
+    Response get(String path, String accessToken) throws IOException, InterruptedException {
+        return send(request(path, accessToken, null).GET());
+    }
+
+    Response post(String path, Object body, String accessToken, String cookie) throws IOException, InterruptedException {
+        return send(request(path, accessToken, cookie).POST(bodyOf(body)));
+    }
+
+    Response put(String path, Object body, String accessToken) throws IOException, InterruptedException {
+        return send(request(path, accessToken, null).PUT(bodyOf(body)));
+    }
+
+    private HttpRequest.Builder request(String path, String accessToken, String cookie) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (accessToken != null) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+        if (cookie != null) {
+            request.header("Cookie", cookie);
+        }
+        return request;
+    }
+
+    private static HttpRequest.BodyPublisher bodyOf(Object body) throws IOException {
+        return body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body));
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body(), response);
+    }
+}
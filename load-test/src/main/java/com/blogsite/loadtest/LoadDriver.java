@@ -0,0 +1,186 @@
+package com.blogsite.loadtest;
+
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the weighted request mix from {@code --threads} threads, each with its own session.
+ * <p>
+ * Without {@code --rate} every thread sends its next request as soon as the previous one
+ * returns. With a rate, requests are due on a fixed schedule and latency is measured from when
+ * a request was due, so time spent queued behind a slow response is counted rather than hidden.
+ */
+final class LoadDriver {
+
+    // Creates and updates pick from these instead of generating text on the measured path
+    private static final int ARTICLE_POOL = 16;
+
+    private final LoadClient client;
+    private final LoadTestOptions options;
+    private final CorpusSeeder.Corpus corpus;
+    private final Operation[] wheel;
+    private final List<String> articles = new ArrayList<>();
+    private final AtomicLong created = new AtomicLong();
+    private final Map<Operation, RouteStats> stats = new EnumMap<>(Operation.class);
+
+    LoadDriver(LoadClient client, LoadTestOptions options, CorpusSeeder.Corpus corpus) {
+        this.client = client;
+        this.options = options;
+        this.corpus = corpus;
+        List<Operation> slots = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            slots.addAll(Collections.nCopies(weight, operation));
+            if (weight > 0) {
+                stats.put(operation, new RouteStats());
+            }
+        });
+        this.wheel = slots.toArray(Operation[]::new);
+        Random random = new Random(options.seed());
+        for (int i = 0; i < ARTICLE_POOL; i++) {
+            articles.add(Articles.article(options.articleWords(), random));
+        }
+    }
+
+    Map<Operation, RouteStats> run() throws IOException, InterruptedException {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < options.threads(); i++) {
+            Session session = new Session(corpus.users().get(i % corpus.users().size()));
+            session.loginForSetup(client).expectOk("Logging in " + session.user().username());
+            sessions.add(session);
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            int index = i;
+            Thread worker = new Thread(() -> work(index, sessions.get(index), start, measureFrom, end), "load-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return stats;
+    }
+
+    private void work(int index, Session session, long start, long measureFrom, long end) {
+        Random random = new Random(options.seed() * 31 + index);
+        long interval = options.rate() > 0 ? 1_000_000_000L * options.threads() / options.rate() : 0;
+        // Threads start spread over one interval rather than all at once
+        long due = start + (interval > 0 ? interval * index / options.threads() : 0);
+        while (true) {
+            long began;
+            if (interval > 0) {
+                if (due >= end) {
+                    return;
+                }
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                began = due;
+                due += interval;
+            } else {
+                began = System.nanoTime();
+                if (began >= end) {
+                    return;
+                }
+            }
+
+            Operation operation = wheel[random.nextInt(wheel.length)];
+            int status;
+            try {
+                status = execute(operation, session, random);
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (began >= measureFrom) {
+                stats.get(operation).record(System.nanoTime() - began, status);
+            }
+        }
+    }
+
+    private int execute(Operation operation, Session session, Random random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LOGIN -> session.login(client).status();
+            case REFRESH -> refresh(session);
+            case LIST -> list(session, random);
+            case SEARCH -> search(session, random);
+            case CREATE -> create(session, random);
+            case UPDATE -> update(session, random);
+        };
+    }
+
+    private int refresh(Session session) throws IOException, InterruptedException {
+        LoadClient.Response response = client.post("/user/refresh", null, null, session.refreshCookie());
+        if (response.ok()) {
+            session.signedIn(response);
+        }
+        return response.status();
+    }
+
+    // Readers mostly page on from where they were, sometimes start over at the newest posts
+    private int list(Session session, Random random) throws IOException, InterruptedException {
+        String cursor = session.nextCursor();
+        String path = cursor != null && random.nextInt(3) > 0
+                ? "/blogs/all?cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8)
+                : "/blogs/all";
+        LoadClient.Response response = client.get(path, session.accessToken());
+        if (response.ok()) {
+            String next = response.json().path("nextCursor").asText(null);
+            session.nextCursor(next);
+        }
+        return response.status();
+    }
+
+    // The whole corpus was written today, so windows ending today cover it
+    private int search(Session session, Random random) throws IOException, InterruptedException {
+        String category = corpus.categories().get(random.nextInt(corpus.categories().size()));
+        LocalDate to = LocalDate.now(ZoneOffset.UTC);
+        LocalDate from = to.minusDays(7 + random.nextInt(24));
+        return client.get("/blogs/get/" + UriUtils.encodePathSegment(category, StandardCharsets.UTF_8)
+                + "/" + from + "/" + to, session.accessToken()).status();
+    }
+
+    private int create(Session session, Random random) throws IOException, InterruptedException {
+        String blogName = "Load test post " + session.user().username() + " " + created.incrementAndGet();
+        LoadClient.Response response = client.post(
+                "/user/blogs/add/" + UriUtils.encodePathSegment(blogName, StandardCharsets.UTF_8),
+                Map.of("category", corpus.categories().get(random.nextInt(corpus.categories().size())),
+                        "article", articles.get(random.nextInt(articles.size()))),
+                session.accessToken(), null);
+        if (response.ok()) {
+            session.user().addBlog(response.json().path("id").asLong());
+        }
+        return response.status();
+    }
+
+    // No If-Match, so concurrent edits of the same blog by two sessions are last-writer-wins
+    private int update(Session session, Random random) throws IOException, InterruptedException {
+        Long id = session.user().anyBlog(random);
+        if (id == null) {
+            return create(session, random);
+        }
+        return client.put("/user/blogs/update/" + id,
+                Map.of("article", articles.get(random.nextInt(articles.size()))),
+                session.accessToken()).status();
+    }
+}
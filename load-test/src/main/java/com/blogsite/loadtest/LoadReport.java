@@ -0,0 +1,135 @@
+package com.blogsite.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per route. {@code --out} saves them as summary.json plus an
+ * HdrHistogram percentile file per route (plottable with the HdrHistogram plotter);
+ * {@code --baseline} compares against a summary.json from an earlier run.
+ */
+final class LoadReport {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestOptions options;
+    private final Map<String, RouteStats> routes = new LinkedHashMap<>();
+    private final Map<String, String> labels = new LinkedHashMap<>();
+
+    LoadReport(LoadTestOptions options, Map<Operation, RouteStats> stats) {
+        this.options = options;
+        RouteStats total = new RouteStats();
+        stats.forEach((operation, route) -> {
+            routes.put(operation.key(), route);
+            labels.put(operation.key(), operation.route());
+            total.add(route);
+        });
+        routes.put("total", total);
+        labels.put("total", "all routes");
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-42s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        routes.forEach((key, route) -> {
+            Histogram latency = route.latency();
+            out.printf("%-42s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    labels.get(key), route.requests(), route.errors(), throughput(route),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+        });
+        routes.forEach((key, route) -> {
+            if (route.errors() > 0 && !"total".equals(key)) {
+                out.printf("  %s statuses: %s%n", labels.get(key), route.statuses());
+            }
+        });
+    }
+
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        JSON.writeValue(dir.resolve("summary.json").toFile(), summary());
+        for (Map.Entry<String, RouteStats> route : routes.entrySet()) {
+            try (PrintStream out = new PrintStream(dir.resolve(route.getKey() + ".hgrm").toFile())) {
+                route.getValue().latency().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    void compare(Path baselineFile, PrintStream out) throws IOException {
+        JsonNode baseline = JSON.readTree(baselineFile.toFile()).path("routes");
+        out.printf("%nCompared with %s%n", baselineFile);
+        out.printf("%-42s %21s %21s %21s%n", "route", "req/s", "p50 ms", "p99 ms");
+        routes.forEach((key, route) -> {
+            JsonNode before = baseline.path(key);
+            if (before.isMissingNode()) {
+                out.printf("%-42s %21s%n", labels.get(key), "not in baseline");
+                return;
+            }
+            Histogram latency = route.latency();
+            out.printf("%-42s %21s %21s %21s%n", labels.get(key),
+                    change(before.path("throughput").asDouble(), throughput(route)),
+                    change(before.path("p50Ms").asDouble(), millis(latency.getValueAtPercentile(50))),
+                    change(before.path("p99Ms").asDouble(), millis(latency.getValueAtPercentile(99))));
+        });
+    }
+
+    private Map<String, Object> summary() {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("users", options.users());
+        run.put("blogs", options.blogs());
+        run.put("articleWords", options.articleWords());
+        run.put("threads", options.threads());
+        run.put("rate", options.rate());
+        run.put("warmupSeconds", options.warmup().toSeconds());
+        run.put("durationSeconds", options.duration().toSeconds());
+        run.put("profiles", options.profiles());
+        run.put("blogInstances", options.blogInstances());
+        run.put("javaVersion", Runtime.version().toString());
+
+        Map<String, Object> perRoute = new LinkedHashMap<>();
+        routes.forEach((key, route) -> {
+            Histogram latency = route.latency();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("route", labels.get(key));
+            values.put("requests", route.requests());
+            values.put("errors", route.errors());
+            values.put("throughput", throughput(route));
+            values.put("p50Ms", millis(latency.getValueAtPercentile(50)));
+            values.put("p90Ms", millis(latency.getValueAtPercentile(90)));
+            values.put("p99Ms", millis(latency.getValueAtPercentile(99)));
+            values.put("p999Ms", millis(latency.getValueAtPercentile(99.9)));
+            values.put("maxMs", millis(latency.getMaxValue()));
+            values.put("statuses", route.statuses());
+            perRoute.put(key, values);
+        });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("run", run);
+        summary.put("routes", perRoute);
+        return summary;
+    }
+
+    private double throughput(RouteStats route) {
+        return route.requests() / (options.duration().toNanos() / 1e9);
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static String change(double before, double after) {
+        String percent = before == 0 ? "" : String.format(" (%+.1f%%)", (after - before) / before * 100);
+        return String.format("%.2f -> %.2f%s", before, after, percent);
+    }
+}
@@ -0,0 +1,51 @@
+package com.blogsite.loadtest;
+
+import java.util.Map;
+
+/**
+ * Boots the gateway, auth-service and blog-service in this JVM against an embedded MariaDB,
+ * seeds a synthetic corpus through the API and drives a weighted request mix through the
+ * gateway, then reports throughput and latency per route. See README.md for the options.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.usage());
+            System.exit(2);
+            return;
+        }
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start();
+             ServiceStack services = ServiceStack.start(database, options.profiles(), options.blogInstances())) {
+            LoadClient client = new LoadClient(services.gatewayUri());
+            System.out.printf("Seeding %d users and %d blogs of %d words%n",
+                    options.users(), options.blogs(), options.articleWords());
+            CorpusSeeder.Corpus corpus = new CorpusSeeder(client, options).seed();
+
+            System.out.printf("Driving %d threads%s for %ds after %ds warmup%n", options.threads(),
+                    options.rate() > 0 ? " at " + options.rate() + " req/s" : "",
+                    options.duration().toSeconds(), options.warmup().toSeconds());
+            Map<Operation, RouteStats> stats = new LoadDriver(client, options, corpus).run();
+
+            LoadReport report = new LoadReport(options, stats);
+            report.print(System.out);
+            if (options.out() != null) {
+                report.write(options.out());
+                System.out.printf("%nResults written to %s%n", options.out());
+            }
+            if (options.baseline() != null) {
+                report.compare(options.baseline(), System.out);
+            }
+        }
+        // Client and server pools leave non-daemon threads behind once the contexts are closed
+        System.exit(0);
+    }
+}
@@ -0,0 +1,136 @@
+package com.blogsite.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name value} or {@code --name=value}.
+ */
+record LoadTestOptions(
+        int users,
+        int blogs,
+        int articleWords,
+        int threads,
+        Duration warmup,
+        Duration duration,
+        int rate,
+        Map<Operation, Integer> mix,
+        List<String> profiles,
+        int blogInstances,
+        Path out,
+        Path baseline,
+        long seed
+) {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("users", "20");
+        DEFAULTS.put("blogs", "2000");
+        DEFAULTS.put("article-words", "1200");
+        DEFAULTS.put("threads", "32");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("duration", "60s");
+        // Total requests per second across all threads; 0 sends back-to-back
+        DEFAULTS.put("rate", "0");
+        DEFAULTS.put("mix", "list=40,search=30,update=10,refresh=10,create=5,login=5");
+        DEFAULTS.put("profiles", "");
+        DEFAULTS.put("blog-instances", "1");
+        DEFAULTS.put("out", "");
+        DEFAULTS.put("baseline", "");
+        DEFAULTS.put("seed", "42");
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            String value;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+            values.put(name, value);
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                positive(values, "users"),
+                positive(values, "blogs"),
+                positive(values, "article-words"),
+                positive(values, "threads"),
+                DurationStyle.detectAndParse(values.get("warmup")),
+                DurationStyle.detectAndParse(values.get("duration")),
+                Integer.parseInt(values.get("rate")),
+                parseMix(values.get("mix")),
+                values.get("profiles").isBlank()
+                        ? List.of()
+                        : Arrays.stream(values.get("profiles").split(",")).map(String::trim).toList(),
+                positive(values, "blog-instances"),
+                values.get("out").isBlank() ? null : Path.of(values.get("out")),
+                values.get("baseline").isBlank() ? null : Path.of(values.get("baseline")),
+                Long.parseLong(values.get("seed")));
+        if (options.articleWords() < 1000) {
+            throw new IllegalArgumentException("--article-words must be at least 1000, the blog minimum");
+        }
+        return options;
+    }
+
+    static String usage() {
+        StringBuilder usage = new StringBuilder("Options (defaults in brackets):\n");
+        DEFAULTS.forEach((name, value) -> usage.append("  --").append(name).append(" [").append(value).append("]\n"));
+        return usage.toString();
+    }
+
+    private static int positive(Map<String, String> values, String name) {
+        int value = Integer.parseInt(values.get(name));
+        if (value <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like list=40, got: " + entry);
+            }
+            Operation operation;
+            try {
+                operation = Operation.valueOf(parts[0].trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + parts[0]
+                        + " (expected one of " + Arrays.toString(Operation.values()).toLowerCase() + ")");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            weights.put(operation, weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+}
@@ -0,0 +1,28 @@
+package com.blogsite.loadtest;
+
+/**
+ * The requests in the load mix, each labelled with the gateway route it exercises.
+ */
+enum Operation {
+
+    LOGIN("POST /user/login"),
+    REFRESH("POST /user/refresh"),
+    LIST("GET /blogs/all"),
+    SEARCH("GET /blogs/get/{category}/{from}/{to}"),
+    CREATE("POST /user/blogs/add/{blogname}"),
+    UPDATE("PUT /user/blogs/update/{id}");
+
+    private final String route;
+
+    Operation(String route) {
+        this.route = route;
+    }
+
+    String route() {
+        return route;
+    }
+
+    String key() {
+        return name().toLowerCase();
+    }
+}
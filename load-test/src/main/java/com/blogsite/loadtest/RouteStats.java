@@ -0,0 +1,56 @@
+package com.blogsite.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency (in microseconds) of the successful requests to one route, plus a count per status.
+ * Failures are counted but kept out of the histogram, since they are usually much faster.
+ */
+final class RouteStats {
+
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * @param status HTTP status, or 0 when no response arrived
+     */
+    void record(long nanos, int status) {
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status >= 200 && status < 400) {
+            latency.recordValue(Math.max(1, nanos / 1000));
+        } else {
+            errors.increment();
+        }
+    }
+
+    void add(RouteStats other) {
+        latency.add(other.latency);
+        other.statuses.forEach((status, count) -> statuses.computeIfAbsent(status, s -> new LongAdder()).add(count.sum()));
+        errors.add(other.errors());
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long requests() {
+        return latency.getTotalCount() + errors();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,46 @@
+package com.blogsite.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A registered user and the blogs they own; sessions of the same user share the blog list.
+ */
+final class SeedUser {
+
+    private final String username;
+    private final String password;
+    private final List<Long> blogIds = Collections.synchronizedList(new ArrayList<>());
+
+    SeedUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    void addBlog(long id) {
+        blogIds.add(id);
+    }
+
+    int blogCount() {
+        return blogIds.size();
+    }
+
+    /**
+     * A random blog of this user's, or null when they have none yet.
+     */
+    Long anyBlog(Random random) {
+        synchronized (blogIds) {
+            return blogIds.isEmpty() ? null : blogIds.get(random.nextInt(blogIds.size()));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.blogsite.loadtest;
+
+import com.blogsite.auth.AuthServiceApplication;
+import com.blogsite.blog.BlogServiceApplication;
+import com.blogsite.gateway.ApiGatewayApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The three services, each in its own application context with its own application.yml
+ * (packaged under {@code gateway/}, {@code auth/} and {@code blog/}), on random ports, with
+ * one or more blog-service instances behind the gateway. Only the database, ports, JWT secret
+ * and the gateway's service instances, change feeds and rate limits are overridden.
+ */
+final class ServiceStack implements AutoCloseable {
+
+    static final String JWT_SECRET = Base64.getEncoder().encodeToString(
+            "load-test-signing-key-0123456789".getBytes());
+
+    private static final int NO_MANAGEMENT_SERVER = -1;
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private URI gatewayUri;
+
+    private ServiceStack() {
+    }
+
+    static ServiceStack start(EmbeddedDatabase database, List<String> profiles, int blogInstances) {
+        ServiceStack stack = new ServiceStack();
+        try {
+            int authPort = stack.boot(new SpringApplicationBuilder(AuthServiceApplication.class)
+                    .web(WebApplicationType.SERVLET), servletArgs("auth", profiles, NO_MANAGEMENT_SERVER,
+                    database.jdbcUrl("blog_auth", "")));
+            List<URI> blogs = new ArrayList<>();
+            List<URI> changeFeeds = new ArrayList<>();
+            for (int i = 0; i < blogInstances; i++) {
+                // Blog keeps a management server for the change feed the gateway's response cache polls
+                int blogPort = stack.boot(new SpringApplicationBuilder(BlogServiceApplication.class)
+                        .web(WebApplicationType.SERVLET), servletArgs("blog", profiles, 0,
+                        database.jdbcUrl("blog_content", "&rewriteBatchedStatements=true")));
+                int blogManagementPort = stack.contexts.get(stack.contexts.size() - 1).getEnvironment()
+                        .getRequiredProperty("local.management.port", Integer.class);
+                blogs.add(URI.create("http://127.0.0.1:" + blogPort));
+                changeFeeds.add(URI.create("http://127.0.0.1:" + blogManagementPort + "/actuator/changes"));
+            }
+            int gatewayPort = stack.boot(new SpringApplicationBuilder(ApiGatewayApplication.class)
+                    .web(WebApplicationType.REACTIVE),
+                    gatewayArgs(profiles, List.of(URI.create("http://127.0.0.1:" + authPort)), blogs, changeFeeds));
+            stack.gatewayUri = URI.create("http://127.0.0.1:" + gatewayPort);
+            return stack;
+        } catch (RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    URI gatewayUri() {
+        return gatewayUri;
+    }
+
+    private int boot(SpringApplicationBuilder builder, List<String> args) {
+        ConfigurableApplicationContext context = builder.run(args.toArray(String[]::new));
+        contexts.add(context);
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static List<String> commonArgs(String service, List<String> profiles, int managementPort) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.location=classpath:/" + service + "/",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--server.port=0",
+                "--management.server.port=" + managementPort,
+                "--security.jwt.secret-file=/nonexistent/jwt_secret",
+                "--security.jwt.secret=" + JWT_SECRET));
+        if (!profiles.isEmpty()) {
+            args.add("--spring.profiles.active=" + String.join(",", profiles));
+        }
+        return args;
+    }
+
+    private static List<String> servletArgs(String service, List<String> profiles, int managementPort,
+                                            String jdbcUrl) {
+        List<String> args = commonArgs(service, profiles, managementPort);
+        args.addAll(List.of(
+                // The gateway jars are on the shared classpath; this keeps them out of servlet apps
+                "--spring.cloud.gateway.enabled=false",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=root",
+                "--spring.datasource.password=",
+                "--spring.flyway.locations=classpath:" + service + "/db/migration"));
+        return args;
+    }
+
+    private static List<String> gatewayArgs(List<String> profiles, List<URI> auths, List<URI> blogs,
+                                            List<URI> changeFeeds) {
+        List<String> args = commonArgs("gateway", profiles, NO_MANAGEMENT_SERVER);
+        // The routes address services as lb://<name>; only the instance lists change
+        args.add("--gateway.load-balancer.services.auth-service=" + join(auths));
+        args.add("--gateway.load-balancer.services.blog-service=" + join(blogs));
+        args.add("--gateway.response-cache.change-feeds=" + join(changeFeeds));
+        // Every simulated user shares 127.0.0.1, which the per-client limits would throttle as one
+        args.add("--gateway.rate-limit.enabled=false");
+        args.add("--spring.autoconfigure.exclude="
+                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration");
+        return args;
+    }
+
+    private static String join(List<URI> uris) {
+        return String.join(",", uris.stream().map(URI::toString).toList());
+    }
+
+    @Override
+    public void close() {
+        List<ConfigurableApplicationContext> running = new ArrayList<>(contexts);
+        Collections.reverse(running);
+        running.forEach(ConfigurableApplicationContext::close);
+        contexts.clear();
+    }
+}
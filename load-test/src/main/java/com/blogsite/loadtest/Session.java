@@ -0,0 +1,77 @@
+package com.blogsite.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * One logged-in client, owned by a single load thread.
+ */
+final class Session {
+
+    private static final int SETUP_LOGIN_ATTEMPTS = 30;
+
+    private final SeedUser user;
+    private String accessToken;
+    private String refreshCookie;
+    private String nextCursor;
+
+    Session(SeedUser user) {
+        this.user = user;
+    }
+
+    SeedUser user() {
+        return user;
+    }
+
+    String accessToken() {
+        return accessToken;
+    }
+
+    String refreshCookie() {
+        return refreshCookie;
+    }
+
+    String nextCursor() {
+        return nextCursor;
+    }
+
+    void nextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Keeps the tokens from a login or refresh response.
+     */
+    void signedIn(LoadClient.Response response) {
+        accessToken = response.json().path("accessToken").asText();
+        response.refreshCookie().ifPresent(cookie -> refreshCookie = cookie);
+    }
+
+    LoadClient.Response login(LoadClient client) throws IOException, InterruptedException {
+        LoadClient.Response response = client.post("/user/login",
+                new LoginBody(user.username(), user.password()), null, null);
+        if (response.ok()) {
+            signedIn(response);
+        }
+        return response;
+    }
+
+    /**
+     * Logs in before the run, waiting out 503s from auth-service's cap on concurrent password
+     * checks for as long as their Retry-After asks.
+     */
+    LoadClient.Response loginForSetup(LoadClient client) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            LoadClient.Response response = login(client);
+            Optional<Duration> retryAfter = response.retryAfter();
+            if (response.status() != 503 || retryAfter.isEmpty() || attempt == SETUP_LOGIN_ATTEMPTS) {
+                return response;
+            }
+            Thread.sleep(retryAfter.get().toMillis());
+        }
+    }
+
+    record LoginBody(String username, String password) {
+    }
+}